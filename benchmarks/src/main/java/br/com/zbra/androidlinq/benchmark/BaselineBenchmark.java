@@ -0,0 +1,209 @@
+package br.com.zbra.androidlinq.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reference numbers for {@link LinqBenchmark}: the same operators written as hand-rolled loops
+ * ({@code loop*}) and with {@code java.util.stream} ({@code jdk*}) over an {@link ArrayList}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BaselineBenchmark {
+
+    private static final List<Integer> PAIR = Arrays.asList(1, 2);
+
+    @State(Scope.Benchmark)
+    public static class Data {
+        @Param({"10", "10000", "10000000"})
+        public int size;
+
+        List<Integer> list;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            list = new ArrayList<>(Arrays.asList(SourceState.values(size)));
+        }
+    }
+
+    // where
+
+    @Benchmark
+    public void loopWhere(Data data, Blackhole blackhole) {
+        for (Integer value : data.list)
+            if (value % 2 == 0) blackhole.consume(value);
+    }
+
+    @Benchmark
+    public void jdkWhere(Data data, Blackhole blackhole) {
+        data.list.stream().filter(v -> v % 2 == 0).forEach(blackhole::consume);
+    }
+
+    // select
+
+    @Benchmark
+    public void loopSelect(Data data, Blackhole blackhole) {
+        for (Integer value : data.list)
+            blackhole.consume(Integer.valueOf(value + 1));
+    }
+
+    @Benchmark
+    public void jdkSelect(Data data, Blackhole blackhole) {
+        data.list.stream().map(v -> v + 1).forEach(blackhole::consume);
+    }
+
+    // selectMany
+
+    @Benchmark
+    public void loopSelectMany(Data data, Blackhole blackhole) {
+        for (Integer ignored : data.list)
+            for (Integer value : PAIR)
+                blackhole.consume(value);
+    }
+
+    @Benchmark
+    public void jdkSelectMany(Data data, Blackhole blackhole) {
+        data.list.stream().flatMap(v -> PAIR.stream()).forEach(blackhole::consume);
+    }
+
+    // groupBy
+
+    @Benchmark
+    public Map<Integer, List<Integer>> loopGroupBy(Data data) {
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (Integer value : data.list) {
+            Integer key = SourceState.groupKey(value);
+            List<Integer> group = groups.get(key);
+            if (group == null) groups.put(key, group = new ArrayList<>());
+            group.add(value);
+        }
+        return groups;
+    }
+
+    @Benchmark
+    public Map<Integer, List<Integer>> jdkGroupBy(Data data) {
+        return data.list.stream().collect(Collectors.groupingBy(SourceState::groupKey, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    // orderBy
+
+    @Benchmark
+    public List<Integer> loopOrderBy(Data data) {
+        List<Integer> sorted = new ArrayList<>(data.list);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    @Benchmark
+    public List<Integer> jdkOrderBy(Data data) {
+        return data.list.stream().sorted().collect(Collectors.toList());
+    }
+
+    // distinct
+
+    @Benchmark
+    public void loopDistinct(Data data, Blackhole blackhole) {
+        Set<Integer> seen = new HashSet<>();
+        for (Integer value : data.list)
+            if (seen.add(value)) blackhole.consume(value);
+    }
+
+    @Benchmark
+    public void jdkDistinct(Data data, Blackhole blackhole) {
+        data.list.stream().distinct().forEach(blackhole::consume);
+    }
+
+    // sum
+
+    @Benchmark
+    public long loopSum(Data data) {
+        long sum = 0;
+        for (Integer value : data.list)
+            sum += value;
+        return sum;
+    }
+
+    @Benchmark
+    public long jdkSum(Data data) {
+        return data.list.stream().mapToLong(v -> v).sum();
+    }
+
+    // average
+
+    @Benchmark
+    public double loopAverage(Data data) {
+        double sum = 0;
+        for (Integer value : data.list)
+            sum += value;
+        return sum / data.list.size();
+    }
+
+    @Benchmark
+    public double jdkAverage(Data data) {
+        return data.list.stream().mapToDouble(v -> v).average().orElse(Double.NaN);
+    }
+
+    // min / max
+
+    @Benchmark
+    public Integer loopMin(Data data) {
+        Integer min = null;
+        for (Integer value : data.list)
+            if (min == null || value < min) min = value;
+        return min;
+    }
+
+    @Benchmark
+    public Integer jdkMin(Data data) {
+        return data.list.stream().min(Comparator.naturalOrder()).orElse(null);
+    }
+
+    @Benchmark
+    public Integer loopMax(Data data) {
+        Integer max = null;
+        for (Integer value : data.list)
+            if (max == null || value > max) max = value;
+        return max;
+    }
+
+    @Benchmark
+    public Integer jdkMax(Data data) {
+        return data.list.stream().max(Comparator.naturalOrder()).orElse(null);
+    }
+
+    // toList / toMap
+
+    @Benchmark
+    public List<Integer> loopToList(Data data) {
+        List<Integer> copy = new ArrayList<>();
+        for (Integer value : data.list)
+            copy.add(value);
+        return copy;
+    }
+
+    @Benchmark
+    public List<Integer> jdkToList(Data data) {
+        return data.list.stream().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> loopToMap(Data data) {
+        Map<Integer, Integer> map = new HashMap<>();
+        for (Integer value : data.list)
+            map.put(value, value);
+        return map;
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> jdkToMap(Data data) {
+        return data.list.stream().collect(Collectors.toMap(Function.identity(), Function.identity(), (a, b) -> b));
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.zbra.androidlinq.benchmark;
+
+import br.com.zbra.androidlinq.Linq;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares join() against the nested where it replaces. The nested where is quadratic, so sizes stay
+ * small enough for it to finish.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class JoinBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Data {
+        @Param({"10", "10000"})
+        public int size;
+
+        List<Integer> list;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            list = Arrays.asList(SourceState.values(size));
+        }
+    }
+
+    @Benchmark
+    public int join(Data data) {
+        return Linq.stream(data.list).join(data.list, v -> v, v -> v, (outer, inner) -> outer).count();
+    }
+
+    /**
+     * What a join had to be written as before join() existed.
+     */
+    @Benchmark
+    public int nestedWhereJoin(Data data) {
+        return Linq.stream(data.list).selectMany(outer -> Linq.stream(data.list).where(inner -> inner.equals(outer))).count();
+    }
+}
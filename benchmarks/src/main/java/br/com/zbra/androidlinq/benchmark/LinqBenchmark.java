@@ -0,0 +1,256 @@
+package br.com.zbra.androidlinq.benchmark;
+
+import br.com.zbra.androidlinq.Grouping;
+import br.com.zbra.androidlinq.Lookup;
+import br.com.zbra.androidlinq.delegate.SelectorDouble;
+import br.com.zbra.androidlinq.delegate.SelectorInteger;
+import br.com.zbra.androidlinq.delegate.SelectorLong;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One benchmark per {@link br.com.zbra.androidlinq.Stream Stream} operator, run over every source
+ * kind and size in {@link SourceState}. Intermediate operators are drained through a
+ * {@link Blackhole} so the iteration itself is measured; terminals just return their result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LinqBenchmark {
+
+    private static final List<Integer> PAIR = Arrays.asList(1, 2);
+    private static final List<Integer> DIGITS = Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+    @Benchmark
+    public void where(SourceState state, Blackhole blackhole) {
+        for (Integer value : state.stream().where(v -> v % 2 == 0))
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public void select(SourceState state, Blackhole blackhole) {
+        for (Integer value : state.stream().select(v -> v + 1))
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public void selectMany(SourceState state, Blackhole blackhole) {
+        for (Integer value : state.stream().selectMany(v -> PAIR))
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public void groupBy(SourceState state, Blackhole blackhole) {
+        for (Grouping<Integer, Integer> grouping : state.stream().groupBy(SourceState::groupKey))
+            blackhole.consume(grouping);
+    }
+
+    /**
+     * Per-key sums the way they had to be written before sumBy(): every group element is kept, then read again.
+     */
+    @Benchmark
+    public Map<Integer, Long> groupBySum(SourceState state) {
+        return state.stream()
+                .groupBy(SourceState::groupKey)
+                .toMap(Grouping::getKey, g -> g.getElements().sum((SelectorLong<Integer>) v -> (long) v));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> sumBy(SourceState state) {
+        return state.stream().sumBy(SourceState::groupKey, v -> (long) v);
+    }
+
+    @Benchmark
+    public Lookup<Integer, Integer> toLookup(SourceState state) {
+        return state.stream().toLookup(SourceState::groupKey);
+    }
+
+    /**
+     * About {@code size / 2} distinct keys, so the key table dominates.
+     */
+    @Benchmark
+    public Lookup<Integer, Integer> toLookupManyKeys(SourceState state) {
+        return state.stream().toLookup(v -> v);
+    }
+
+    @Benchmark
+    public Lookup<Integer, Integer> toLookupManyIntKeys(SourceState state) {
+        return state.stream().toLookupInt(v -> v);
+    }
+
+    @Benchmark
+    public void orderBy(SourceState state, Blackhole blackhole) {
+        for (Integer value : state.stream().orderBy(v -> v))
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public List<Integer> orderByIntegerKey(SourceState state) {
+        return state.stream().orderBy((SelectorInteger<Integer>) v -> v).toList();
+    }
+
+    @Benchmark
+    public List<Integer> orderByLongKey(SourceState state) {
+        return state.stream().orderBy((SelectorLong<Integer>) v -> v * 1_000_003L).toList();
+    }
+
+    @Benchmark
+    public void orderByTake(SourceState state, Blackhole blackhole) {
+        for (Integer value : state.stream().orderBy(v -> v).take(20))
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public List<Integer> page(SourceState state) {
+        return state.stream().skip(state.size / 2).take(20).toList();
+    }
+
+    @Benchmark
+    public Integer last(SourceState state) {
+        return state.stream().skip(1).take(state.size - 2).last();
+    }
+
+    @Benchmark
+    public void reverse(SourceState state, Blackhole blackhole) {
+        for (Integer value : state.stream().where(v -> v % 2 == 0).reverse())
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public void distinct(SourceState state, Blackhole blackhole) {
+        for (Integer value : state.stream().distinct())
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public void distinctBloomFilter(SourceState state, Blackhole blackhole) {
+        for (Integer value : state.stream().distinct(state.size, 0.01))
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public boolean contains(SourceState state) {
+        return state.stream().contains(-1);
+    }
+
+    @Benchmark
+    public void intersect(SourceState state, Blackhole blackhole) {
+        for (Integer value : state.stream().intersect(DIGITS))
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public void except(SourceState state, Blackhole blackhole) {
+        for (Integer value : state.stream().except(DIGITS))
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public void distinctBy(SourceState state, Blackhole blackhole) {
+        for (Integer value : state.stream().distinctBy(v -> v))
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public void distinctByIntKey(SourceState state, Blackhole blackhole) {
+        for (Integer value : state.stream().distinctByInt(v -> v))
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public int sumInteger(SourceState state) {
+        return state.stream().sum((SelectorInteger<Integer>) v -> v);
+    }
+
+    @Benchmark
+    public long sumLong(SourceState state) {
+        return state.stream().sum((SelectorLong<Integer>) v -> (long) v);
+    }
+
+    @Benchmark
+    public double sumDouble(SourceState state) {
+        return state.stream().sum((SelectorDouble<Integer>) v -> (double) v);
+    }
+
+    @Benchmark
+    public long whereSum(SourceState state) {
+        return state.stream().where(v -> v % 3 != 0).sum((SelectorLong<Integer>) v -> (long) v);
+    }
+
+    @Benchmark
+    public long whereAverage(SourceState state) {
+        return state.stream().where(v -> v % 3 != 0).average((SelectorLong<Integer>) v -> (long) v);
+    }
+
+    @Benchmark
+    public double whereAverageDouble(SourceState state) {
+        return state.stream().where(v -> v % 3 != 0).average((SelectorDouble<Integer>) v -> (double) v);
+    }
+
+    @Benchmark
+    public long parallelWhereSum(SourceState state) {
+        return state.stream().parallel().where(v -> v % 3 != 0).sum((SelectorLong<Integer>) v -> (long) v);
+    }
+
+    @Benchmark
+    public List<Integer> parallelWhereToList(SourceState state) {
+        return state.stream().parallel().where(v -> v % 3 != 0).toList();
+    }
+
+    @Benchmark
+    public int join(SourceState state) {
+        return state.stream().join(state.stream(), v -> v, v -> v, (outer, inner) -> outer).count();
+    }
+
+    @Benchmark
+    public int selectIntSum(SourceState state) {
+        return state.stream().selectInt(v -> v).sum();
+    }
+
+    @Benchmark
+    public long selectLongSum(SourceState state) {
+        return state.stream().selectLong(v -> (long) v).sum();
+    }
+
+    @Benchmark
+    public double selectDoubleSum(SourceState state) {
+        return state.stream().selectDouble(v -> (double) v).sum();
+    }
+
+    @Benchmark
+    public int averageInteger(SourceState state) {
+        return state.stream().average((SelectorInteger<Integer>) v -> v);
+    }
+
+    @Benchmark
+    public double averageDouble(SourceState state) {
+        return state.stream().average((SelectorDouble<Integer>) v -> (double) v);
+    }
+
+    @Benchmark
+    public Integer min(SourceState state) {
+        return state.stream().min(v -> v);
+    }
+
+    @Benchmark
+    public Integer max(SourceState state) {
+        return state.stream().max(v -> v);
+    }
+
+    @Benchmark
+    public List<Integer> toList(SourceState state) {
+        return state.stream().toList();
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> toMap(SourceState state) {
+        return state.stream().toMap(v -> v);
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.zbra.androidlinq.benchmark;
+
+import br.com.zbra.androidlinq.Linq;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Joins and merges inputs that are already sorted, comparing the operators that rely on that
+ * order against the ones that do not.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MergeBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Data {
+        @Param({"10000", "1000000"})
+        public int size;
+
+        /**
+         * Number of sorted runs merged by the merge benchmarks.
+         */
+        @Param({"2", "16"})
+        public int runs;
+
+        List<Integer> sorted;
+        List<List<Integer>> sortedRuns;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Integer[] values = SourceState.values(size);
+            sortedRuns = new ArrayList<>(runs);
+            for (int i = 0; i < runs; i++) {
+                Integer[] run = Arrays.copyOfRange(values, i * size / runs, (i + 1) * size / runs);
+                Arrays.sort(run);
+                sortedRuns.add(Arrays.asList(run));
+            }
+            Arrays.sort(values);
+            sorted = Arrays.asList(values);
+        }
+    }
+
+    @Benchmark
+    public int join(Data data) {
+        return Linq.stream(data.sorted).join(data.sorted, v -> v, v -> v, (outer, inner) -> outer).count();
+    }
+
+    @Benchmark
+    public int mergeJoin(Data data) {
+        return Linq.stream(data.sorted).asOrderedBy(v -> v)
+                .mergeJoin(data.sorted, v -> v, v -> v, (outer, inner) -> outer)
+                .count();
+    }
+
+    @Benchmark
+    public List<Integer> orderByRuns(Data data) {
+        return Linq.stream(data.sortedRuns).selectMany(run -> run).orderBy(v -> v).toList();
+    }
+
+    @Benchmark
+    public List<Integer> mergeRuns(Data data) {
+        return Linq.stream(data.sortedRuns.get(0)).asOrderedBy(v -> v)
+                .mergeAll(data.sortedRuns.subList(1, data.runs))
+                .toList();
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.zbra.androidlinq.benchmark;
+
+import br.com.zbra.androidlinq.delegate.Selector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorts by string keys that are expensive to build, counting how often the key selectors run.
+ * The {@code selectorCalls} and {@code sorts} counters are totals per iteration, so
+ * {@code selectorCalls / sorts} is the number of selector calls per sort.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class OrderByBenchmark {
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long selectorCalls;
+        public long sorts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            selectorCalls = 0;
+            sorts = 0;
+        }
+    }
+
+    @Benchmark
+    public List<Integer> orderByStringKey(SourceState state, Counters counters) {
+        counters.sorts++;
+        return state.stream()
+                .orderBy(stringKey(counters, 16))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Integer> orderByThenByStringKey(SourceState state, Counters counters) {
+        counters.sorts++;
+        return state.stream()
+                .orderBy(stringKey(counters, SourceState.GROUPS))
+                .thenByDescending(stringKey(counters, Integer.MAX_VALUE))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Integer> parallelOrderByThenByStringKey(SourceState state, Counters counters) {
+        counters.sorts++;
+        return state.stream()
+                .orderBy(stringKey(counters, SourceState.GROUPS))
+                .thenByDescending(stringKey(counters, Integer.MAX_VALUE))
+                .parallelSort()
+                .toList();
+    }
+
+    private static Selector<Integer, String> stringKey(final Counters counters, final int modulo) {
+        return v -> {
+            counters.selectorCalls++;
+            return String.format("key-%08d", v % modulo);
+        };
+    }
+}
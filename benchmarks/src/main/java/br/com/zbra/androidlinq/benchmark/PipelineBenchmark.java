@@ -0,0 +1,126 @@
+package br.com.zbra.androidlinq.benchmark;
+
+import br.com.zbra.androidlinq.Linq;
+import br.com.zbra.androidlinq.Stream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chains of where/select/take/skip stages over a list, consumed either by a terminal operator
+ * (internal iteration) or by a for-each loop (external iteration through the Iterators).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PipelineBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Data {
+        @Param({"10000", "1000000"})
+        public int size;
+
+        /**
+         * Number of where/select stages in the pipeline.
+         */
+        @Param({"3", "6"})
+        public int stages;
+
+        List<Integer> list;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            list = new ArrayList<>(Arrays.asList(SourceState.values(size)));
+        }
+
+        /**
+         * Alternates where and select stages: where(v % 7 != k), select(v + 1), ...
+         */
+        Stream<Integer> whereSelect() {
+            Stream<Integer> stream = Linq.stream(list);
+            for (int i = 0; i < stages; i++) {
+                final int k = i;
+                stream = i % 2 == 0
+                        ? stream.where(v -> v % 7 != k)
+                        : stream.select(v -> v + 1);
+            }
+            return stream;
+        }
+
+        /**
+         * Repeats the same kind of stage, the shape that operator fusion collapses.
+         */
+        Stream<Integer> whereWhere() {
+            Stream<Integer> stream = Linq.stream(list);
+            for (int i = 0; i < stages; i++) {
+                final int k = i;
+                stream = stream.where(v -> v % 7 != k);
+            }
+            return stream;
+        }
+
+        Stream<Integer> selectSelect() {
+            Stream<Integer> stream = Linq.stream(list);
+            for (int i = 0; i < stages; i++)
+                stream = stream.select(v -> v + 1);
+            return stream;
+        }
+
+        Stream<Integer> skipTake() {
+            Stream<Integer> stream = Linq.stream(list);
+            for (int i = 0; i < stages; i++)
+                stream = i < stages / 2 ? stream.skip(1) : stream.take(size - i);
+            return stream;
+        }
+    }
+
+    @Benchmark
+    public int whereSelectCount(Data data) {
+        return data.whereSelect().count();
+    }
+
+    @Benchmark
+    public List<Integer> whereSelectToList(Data data) {
+        return data.whereSelect().toList();
+    }
+
+    @Benchmark
+    public void whereSelectForEach(Data data, Blackhole blackhole) {
+        for (Integer value : data.whereSelect())
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public int whereWhereCount(Data data) {
+        return data.whereWhere().count();
+    }
+
+    @Benchmark
+    public void whereWhereForEach(Data data, Blackhole blackhole) {
+        for (Integer value : data.whereWhere())
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public List<Integer> selectSelectToList(Data data) {
+        return data.selectSelect().toList();
+    }
+
+    @Benchmark
+    public void selectSelectForEach(Data data, Blackhole blackhole) {
+        for (Integer value : data.selectSelect())
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public void skipTakeForEach(Data data, Blackhole blackhole) {
+        for (Integer value : data.skipTake())
+            blackhole.consume(value);
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.zbra.androidlinq.benchmark;
+
+import br.com.zbra.androidlinq.Linq;
+import br.com.zbra.androidlinq.Stream;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+
+/**
+ * Builds the data set every benchmark runs against. Each trial only materializes the collection
+ * backing the selected {@link Source}, so 10M element runs don't hold four copies in memory.
+ */
+@State(Scope.Benchmark)
+public class SourceState {
+
+    public enum Source { ARRAY, LIST, ITERABLE, SET, MAP }
+
+    /**
+     * Number of distinct group keys produced by {@link #groupKey(Integer)}.
+     */
+    static final int GROUPS = 64;
+
+    @Param({"10", "10000", "10000000"})
+    public int size;
+
+    @Param({"ARRAY", "LIST", "ITERABLE", "SET", "MAP"})
+    public Source source;
+
+    Integer[] array;
+    List<Integer> list;
+    Iterable<Integer> iterable;
+    Set<Integer> set;
+    Map<Integer, Integer> map;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Integer[] values = values(size);
+        switch (source) {
+            case ARRAY:
+                array = values;
+                break;
+            case LIST:
+                list = new ArrayList<>(Arrays.asList(values));
+                break;
+            case ITERABLE:
+                // a bare Iterable so the library can't take any List/Collection shortcut
+                final List<Integer> backing = new ArrayList<>(Arrays.asList(values));
+                iterable = backing::iterator;
+                break;
+            case SET:
+                // about half the size, as the values repeat
+                set = new LinkedHashSet<>(Arrays.asList(values));
+                break;
+            case MAP:
+                map = new LinkedHashMap<>(size * 2);
+                for (int i = 0; i < values.length; i++)
+                    map.put(i, values[i]);
+                break;
+        }
+    }
+
+    /**
+     * A fresh stream over the selected source. MAP sources are projected to their values so every
+     * benchmark can share the same selectors; that projection is part of the measured pipeline.
+     */
+    Stream<Integer> stream() {
+        switch (source) {
+            case ARRAY:
+                return Linq.stream(array);
+            case LIST:
+                return Linq.stream(list);
+            case ITERABLE:
+                return Linq.stream(iterable);
+            case SET:
+                return Linq.stream(set);
+            case MAP:
+                return Linq.stream(map).select(Map.Entry::getValue);
+            default:
+                throw new IllegalStateException(String.valueOf(source));
+        }
+    }
+
+    /**
+     * Pseudo-random values in {@code [0, size / 2]}, so roughly half of them are duplicates.
+     */
+    static Integer[] values(int size) {
+        Random random = new Random(42);
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++)
+            values[i] = random.nextInt(size / 2 + 1);
+        return values;
+    }
+
+    static int groupKey(Integer value) {
+        return value % GROUPS;
+    }
+}
@@ -0,0 +1,149 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.OperatorDouble;
+import br.com.zbra.androidlinq.delegate.Predicate;
+import br.com.zbra.androidlinq.delegate.PredicateDouble;
+import br.com.zbra.androidlinq.delegate.SelectorDouble;
+
+import java.util.Arrays;
+
+abstract class AbstractDoubleStream implements DoubleStream {
+
+    /**
+     * Pushes each value of the sequence into {@code action} until it returns {@code false}.
+     *
+     * @return {@code false} if {@code action} stopped the iteration; otherwise, {@code true}.
+     */
+    abstract boolean forEachWhile(PredicateDouble action);
+
+    @Override
+    public DoubleStream where(PredicateDouble predicate) {
+        return new WhereDoubleStream(this, predicate);
+    }
+
+    @Override
+    public DoubleStream map(OperatorDouble operator) {
+        return new MapDoubleStream(this, operator);
+    }
+
+    @Override
+    public double sum() {
+        return summarize().doubleSum();
+    }
+
+    @Override
+    public double min() {
+        return summarize().doubleMin();
+    }
+
+    @Override
+    public double max() {
+        return summarize().doubleMax();
+    }
+
+    @Override
+    public double average() {
+        return summarize().doubleAverage();
+    }
+
+    @Override
+    public int count() {
+        return summarize().count();
+    }
+
+    @Override
+    public double[] toArray() {
+        Buffer buffer = new Buffer();
+        forEachWhile(buffer);
+        return Arrays.copyOf(buffer.values, buffer.size);
+    }
+
+    private PrimitiveSummary summarize() {
+        PrimitiveSummary summary = new PrimitiveSummary();
+        forEachWhile(summary);
+        return summary;
+    }
+
+    private static class Buffer implements PredicateDouble {
+        private double[] values = new double[16];
+        private int size;
+
+        @Override
+        public boolean apply(double value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+            return true;
+        }
+    }
+
+    static class SelectDoubleStream<T> extends AbstractDoubleStream {
+        private final AbstractStream<T> stream;
+        private final SelectorDouble<T> selector;
+
+        SelectDoubleStream(AbstractStream<T> stream, SelectorDouble<T> selector) {
+            this.stream = stream;
+            this.selector = selector;
+        }
+
+        @Override
+        public int count() {
+            return stream.count();
+        }
+
+        @Override
+        boolean forEachWhile(final PredicateDouble action) {
+            return stream.forEachWhile(new Predicate<T>() {
+                @Override
+                public boolean apply(T value) {
+                    return action.apply(selector.select(value));
+                }
+            });
+        }
+    }
+
+    private static class WhereDoubleStream extends AbstractDoubleStream {
+        private final AbstractDoubleStream stream;
+        private final PredicateDouble predicate;
+
+        WhereDoubleStream(AbstractDoubleStream stream, PredicateDouble predicate) {
+            this.stream = stream;
+            this.predicate = predicate;
+        }
+
+        @Override
+        boolean forEachWhile(final PredicateDouble action) {
+            return stream.forEachWhile(new PredicateDouble() {
+                @Override
+                public boolean apply(double value) {
+                    return !predicate.apply(value) || action.apply(value);
+                }
+            });
+        }
+    }
+
+    private static class MapDoubleStream extends AbstractDoubleStream {
+        private final AbstractDoubleStream stream;
+        private final OperatorDouble operator;
+
+        MapDoubleStream(AbstractDoubleStream stream, OperatorDouble operator) {
+            this.stream = stream;
+            this.operator = operator;
+        }
+
+        @Override
+        public int count() {
+            return stream.count();
+        }
+
+        @Override
+        boolean forEachWhile(final PredicateDouble action) {
+            return stream.forEachWhile(new PredicateDouble() {
+                @Override
+                public boolean apply(double value) {
+                    return action.apply(operator.apply(value));
+                }
+            });
+        }
+    }
+}
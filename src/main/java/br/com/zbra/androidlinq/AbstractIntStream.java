@@ -0,0 +1,149 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.OperatorInteger;
+import br.com.zbra.androidlinq.delegate.Predicate;
+import br.com.zbra.androidlinq.delegate.PredicateInteger;
+import br.com.zbra.androidlinq.delegate.SelectorInteger;
+
+import java.util.Arrays;
+
+abstract class AbstractIntStream implements IntStream {
+
+    /**
+     * Pushes each value of the sequence into {@code action} until it returns {@code false}.
+     *
+     * @return {@code false} if {@code action} stopped the iteration; otherwise, {@code true}.
+     */
+    abstract boolean forEachWhile(PredicateInteger action);
+
+    @Override
+    public IntStream where(PredicateInteger predicate) {
+        return new WhereIntStream(this, predicate);
+    }
+
+    @Override
+    public IntStream map(OperatorInteger operator) {
+        return new MapIntStream(this, operator);
+    }
+
+    @Override
+    public int sum() {
+        return (int) summarize().longSum();
+    }
+
+    @Override
+    public int min() {
+        return (int) summarize().longMin();
+    }
+
+    @Override
+    public int max() {
+        return (int) summarize().longMax();
+    }
+
+    @Override
+    public int average() {
+        return (int) summarize().longAverage();
+    }
+
+    @Override
+    public int count() {
+        return summarize().count();
+    }
+
+    @Override
+    public int[] toArray() {
+        Buffer buffer = new Buffer();
+        forEachWhile(buffer);
+        return Arrays.copyOf(buffer.values, buffer.size);
+    }
+
+    private PrimitiveSummary summarize() {
+        PrimitiveSummary summary = new PrimitiveSummary();
+        forEachWhile(summary);
+        return summary;
+    }
+
+    private static class Buffer implements PredicateInteger {
+        private int[] values = new int[16];
+        private int size;
+
+        @Override
+        public boolean apply(int value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+            return true;
+        }
+    }
+
+    static class SelectIntStream<T> extends AbstractIntStream {
+        private final AbstractStream<T> stream;
+        private final SelectorInteger<T> selector;
+
+        SelectIntStream(AbstractStream<T> stream, SelectorInteger<T> selector) {
+            this.stream = stream;
+            this.selector = selector;
+        }
+
+        @Override
+        public int count() {
+            return stream.count();
+        }
+
+        @Override
+        boolean forEachWhile(final PredicateInteger action) {
+            return stream.forEachWhile(new Predicate<T>() {
+                @Override
+                public boolean apply(T value) {
+                    return action.apply(selector.select(value));
+                }
+            });
+        }
+    }
+
+    private static class WhereIntStream extends AbstractIntStream {
+        private final AbstractIntStream stream;
+        private final PredicateInteger predicate;
+
+        WhereIntStream(AbstractIntStream stream, PredicateInteger predicate) {
+            this.stream = stream;
+            this.predicate = predicate;
+        }
+
+        @Override
+        boolean forEachWhile(final PredicateInteger action) {
+            return stream.forEachWhile(new PredicateInteger() {
+                @Override
+                public boolean apply(int value) {
+                    return !predicate.apply(value) || action.apply(value);
+                }
+            });
+        }
+    }
+
+    private static class MapIntStream extends AbstractIntStream {
+        private final AbstractIntStream stream;
+        private final OperatorInteger operator;
+
+        MapIntStream(AbstractIntStream stream, OperatorInteger operator) {
+            this.stream = stream;
+            this.operator = operator;
+        }
+
+        @Override
+        public int count() {
+            return stream.count();
+        }
+
+        @Override
+        boolean forEachWhile(final PredicateInteger action) {
+            return stream.forEachWhile(new PredicateInteger() {
+                @Override
+                public boolean apply(int value) {
+                    return action.apply(operator.apply(value));
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.OperatorLong;
+import br.com.zbra.androidlinq.delegate.Predicate;
+import br.com.zbra.androidlinq.delegate.PredicateLong;
+import br.com.zbra.androidlinq.delegate.SelectorLong;
+
+import java.util.Arrays;
+
+abstract class AbstractLongStream implements LongStream {
+
+    /**
+     * Pushes each value of the sequence into {@code action} until it returns {@code false}.
+     *
+     * @return {@code false} if {@code action} stopped the iteration; otherwise, {@code true}.
+     */
+    abstract boolean forEachWhile(PredicateLong action);
+
+    @Override
+    public LongStream where(PredicateLong predicate) {
+        return new WhereLongStream(this, predicate);
+    }
+
+    @Override
+    public LongStream map(OperatorLong operator) {
+        return new MapLongStream(this, operator);
+    }
+
+    @Override
+    public long sum() {
+        return summarize().longSum();
+    }
+
+    @Override
+    public long min() {
+        return summarize().longMin();
+    }
+
+    @Override
+    public long max() {
+        return summarize().longMax();
+    }
+
+    @Override
+    public long average() {
+        return summarize().longAverage();
+    }
+
+    @Override
+    public int count() {
+        return summarize().count();
+    }
+
+    @Override
+    public long[] toArray() {
+        Buffer buffer = new Buffer();
+        forEachWhile(buffer);
+        return Arrays.copyOf(buffer.values, buffer.size);
+    }
+
+    private PrimitiveSummary summarize() {
+        PrimitiveSummary summary = new PrimitiveSummary();
+        forEachWhile(summary);
+        return summary;
+    }
+
+    private static class Buffer implements PredicateLong {
+        private long[] values = new long[16];
+        private int size;
+
+        @Override
+        public boolean apply(long value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+            return true;
+        }
+    }
+
+    static class SelectLongStream<T> extends AbstractLongStream {
+        private final AbstractStream<T> stream;
+        private final SelectorLong<T> selector;
+
+        SelectLongStream(AbstractStream<T> stream, SelectorLong<T> selector) {
+            this.stream = stream;
+            this.selector = selector;
+        }
+
+        @Override
+        public int count() {
+            return stream.count();
+        }
+
+        @Override
+        boolean forEachWhile(final PredicateLong action) {
+            return stream.forEachWhile(new Predicate<T>() {
+                @Override
+                public boolean apply(T value) {
+                    return action.apply(selector.select(value));
+                }
+            });
+        }
+    }
+
+    private static class WhereLongStream extends AbstractLongStream {
+        private final AbstractLongStream stream;
+        private final PredicateLong predicate;
+
+        WhereLongStream(AbstractLongStream stream, PredicateLong predicate) {
+            this.stream = stream;
+            this.predicate = predicate;
+        }
+
+        @Override
+        boolean forEachWhile(final PredicateLong action) {
+            return stream.forEachWhile(new PredicateLong() {
+                @Override
+                public boolean apply(long value) {
+                    return !predicate.apply(value) || action.apply(value);
+                }
+            });
+        }
+    }
+
+    private static class MapLongStream extends AbstractLongStream {
+        private final AbstractLongStream stream;
+        private final OperatorLong operator;
+
+        MapLongStream(AbstractLongStream stream, OperatorLong operator) {
+            this.stream = stream;
+            this.operator = operator;
+        }
+
+        @Override
+        public int count() {
+            return stream.count();
+        }
+
+        @Override
+        boolean forEachWhile(final PredicateLong action) {
+            return stream.forEachWhile(new PredicateLong() {
+                @Override
+                public boolean apply(long value) {
+                    return action.apply(operator.apply(value));
+                }
+            });
+        }
+    }
+}
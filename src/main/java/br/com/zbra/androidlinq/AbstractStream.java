@@ -7,13 +7,99 @@ import br.com.zbra.androidlinq.exception.MultipleElementsFoundException;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 abstract class AbstractStream<T> implements Stream<T> {
 
+    /**
+     * The number of elements is known without iterating; see {@link #exactSize()}.
+     */
+    static final int SIZED = 0x1;
+
+    /**
+     * No two elements are equal according to {@code equals()}.
+     */
+    static final int DISTINCT = 0x2;
+
+    /**
+     * Elements are in the order defined by an {@code orderBy} chain.
+     */
+    static final int SORTED = 0x4;
+
+    /**
+     * No element is {@code null}.
+     */
+    static final int NONNULL = 0x8;
+
+    /**
+     * Elements can be read by position in O(1) through {@link #get(int)}. Implies {@link #SIZED}.
+     */
+    static final int INDEXED = 0x10;
+
+    /**
+     * Returns the characteristics of this stream, in the spirit of {@code Spliterator}: a
+     * combination of {@link #SIZED}, {@link #DISTINCT}, {@link #SORTED}, {@link #NONNULL} and
+     * {@link #INDEXED}.
+     * Each stage derives its flags from its source, so they can be checked in O(1) at any
+     * point of a pipeline.
+     */
+    protected int characteristics() {
+        return 0;
+    }
+
+    /**
+     * Returns the exact number of elements if it is known without iterating, or -1 otherwise.
+     * A stream reports {@link #SIZED} if and only if this method returns a size.
+     */
+    protected int exactSize() {
+        return -1;
+    }
+
+    /**
+     * Returns an upper bound on the number of elements, or {@link Integer#MAX_VALUE} if none is
+     * known.
+     */
+    protected int maxSize() {
+        int size = exactSize();
+        return size >= 0 ? size : Integer.MAX_VALUE;
+    }
+
+    final boolean hasCharacteristics(int characteristics) {
+        return (characteristics() & characteristics) == characteristics;
+    }
+
+    /**
+     * Returns the element at {@code index} of an {@link #INDEXED} stream, where {@code index} is
+     * between 0 and {@link #exactSize()}, exclusive.
+     */
+    protected T get(int index) {
+        throw new UnsupportedOperationException("get");
+    }
+
+    /**
+     * Pushes each element of the sequence into {@code action} until it returns {@code false}.
+     * Stages override this to hand elements straight to the next stage instead of chaining
+     * {@code hasNext()}/{@code next()} calls through an Iterator.
+     *
+     * @return {@code false} if {@code action} stopped the iteration; otherwise, {@code true}.
+     */
+    protected boolean forEachWhile(Predicate<T> action) {
+        for (T t : this)
+            if (!action.apply(t))
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns an Iterator over the elements in reverse order. Indexed streams walk their indexes
+     * backwards; others buffer the elements into an array first, unless they override this with
+     * a cheaper strategy.
+     */
     protected Iterator<T> reverseIterator() {
-        Deque<T> deque = new LinkedList<>();
-        for (T t : this) deque.addFirst(t);
-        return deque.iterator();
+        if (hasCharacteristics(INDEXED))
+            return new IndexedIterator<>(this, true);
+
+        return new ReverseListIterator<>(toList());
     }
 
     @Override
@@ -31,6 +117,21 @@ abstract class AbstractStream<T> implements Stream<T> {
         return new SelectManyStream<>(this, selector);
     }
 
+    @Override
+    public IntStream selectInt(SelectorInteger<T> selector) {
+        return new AbstractIntStream.SelectIntStream<>(this, selector);
+    }
+
+    @Override
+    public LongStream selectLong(SelectorLong<T> selector) {
+        return new AbstractLongStream.SelectLongStream<>(this, selector);
+    }
+
+    @Override
+    public DoubleStream selectDouble(SelectorDouble<T> selector) {
+        return new AbstractDoubleStream.SelectDoubleStream<>(this, selector);
+    }
+
     @Override
     public <K, E> Stream<Grouping<K, E>> groupBy(Selector<T, K> keySelector, Selector<T, E> elementSelector) {
         return new GroupByStream<>(this, keySelector, elementSelector);
@@ -46,6 +147,62 @@ abstract class AbstractStream<T> implements Stream<T> {
         });
     }
 
+    @Override
+    public Stream<Grouping<Integer, T>> groupByInt(SelectorInteger<T> keySelector) {
+        return groupBy(keySelector);
+    }
+
+    @Override
+    public Stream<Grouping<Long, T>> groupByLong(SelectorLong<T> keySelector) {
+        return groupBy(keySelector);
+    }
+
+    @Override
+    public <K, R> Map<K, R> groupAggregate(Selector<T, K> keySelector, R seed, Aggregator<T, R> aggregator) {
+        GroupAggregate<T, K, R> groupAggregate = new GroupAggregate<>(keySelector, seed, aggregator);
+        forEachWhile(groupAggregate);
+        return groupAggregate.values();
+    }
+
+    @Override
+    public <K, R> Map<K, R> groupAggregate(Selector<T, K> keySelector, R seed, Aggregator<T, R> aggregator, Aggregator<R, R> combiner) {
+        return groupAggregate(keySelector, seed, aggregator);
+    }
+
+    @Override
+    public <K> Map<K, Integer> countBy(Selector<T, K> keySelector) {
+        GroupSum<T, K> groupSum = new GroupSum<>(keySelector, null);
+        forEachWhile(groupSum);
+        return groupSum.counts();
+    }
+
+    @Override
+    public <K> Map<K, Long> sumBy(Selector<T, K> keySelector, SelectorLong<T> selector) {
+        GroupSum<T, K> groupSum = new GroupSum<>(keySelector, selector);
+        forEachWhile(groupSum);
+        return groupSum.sums();
+    }
+
+    @Override
+    public <I, K, R> Stream<R> join(Iterable<I> inner, Selector<T, K> outerKeySelector, Selector<I, K> innerKeySelector, JoinSelector<T, I, R> resultSelector) {
+        return new JoinStream<>(this, inner, outerKeySelector, innerKeySelector, resultSelector, null);
+    }
+
+    @Override
+    public <I, K, R> Stream<R> join(Iterable<I> inner, Selector<T, K> outerKeySelector, Selector<I, K> innerKeySelector, JoinSelector<T, I, R> resultSelector, EqualityComparator<K> comparator) {
+        return new JoinStream<>(this, inner, outerKeySelector, innerKeySelector, resultSelector, comparator);
+    }
+
+    @Override
+    public <I, K, R> Stream<R> groupJoin(Iterable<I> inner, Selector<T, K> outerKeySelector, Selector<I, K> innerKeySelector, JoinSelector<T, Stream<I>, R> resultSelector) {
+        return new GroupJoinStream<>(this, inner, outerKeySelector, innerKeySelector, resultSelector, null);
+    }
+
+    @Override
+    public <I, K, R> Stream<R> groupJoin(Iterable<I> inner, Selector<T, K> outerKeySelector, Selector<I, K> innerKeySelector, JoinSelector<T, Stream<I>, R> resultSelector, EqualityComparator<K> comparator) {
+        return new GroupJoinStream<>(this, inner, outerKeySelector, innerKeySelector, resultSelector, comparator);
+    }
+
     @Override
     public <R> OrderedStream<T> orderBy(Selector<T, R> keySelector, Comparator<R> comparator) {
         return OrderByStream.createAscending(this, keySelector, comparator);
@@ -53,12 +210,7 @@ abstract class AbstractStream<T> implements Stream<T> {
 
     @Override
     public <R extends Comparable<R>> OrderedStream<T> orderBy(Selector<T, R> keySelector) {
-        return orderBy(keySelector, new Comparator<R>() {
-            @Override
-            public int compare(R r, R o) {
-                return r.compareTo(o);
-            }
-        });
+        return orderBy(keySelector, SortKey.<R>naturalOrder());
     }
 
     @Override
@@ -68,12 +220,47 @@ abstract class AbstractStream<T> implements Stream<T> {
 
     @Override
     public <R extends Comparable<R>> OrderedStream<T> orderByDescending(final Selector<T, R> keySelector) {
-        return orderByDescending(keySelector, new Comparator<R>() {
-            @Override
-            public int compare(R r, R o) {
-                return r.compareTo(o);
-            }
-        });
+        return orderByDescending(keySelector, SortKey.<R>naturalOrder());
+    }
+
+    @Override
+    public OrderedStream<T> orderByInt(SelectorInteger<T> keySelector) {
+        return orderBy(keySelector, SortKey.<Integer>naturalOrder());
+    }
+
+    @Override
+    public OrderedStream<T> orderByLong(SelectorLong<T> keySelector) {
+        return orderBy(keySelector, SortKey.<Long>naturalOrder());
+    }
+
+    @Override
+    public OrderedStream<T> orderByDescendingInt(SelectorInteger<T> keySelector) {
+        return orderByDescending(keySelector, SortKey.<Integer>naturalOrder());
+    }
+
+    @Override
+    public OrderedStream<T> orderByDescendingLong(SelectorLong<T> keySelector) {
+        return orderByDescending(keySelector, SortKey.<Long>naturalOrder());
+    }
+
+    @Override
+    public <R extends Comparable<R>> OrderedStream<T> asOrderedBy(Selector<T, R> keySelector) {
+        return asOrderedBy(keySelector, SortKey.<R>naturalOrder());
+    }
+
+    @Override
+    public <R> OrderedStream<T> asOrderedBy(Selector<T, R> keySelector, Comparator<R> comparator) {
+        return OrderByStream.createPresorted(this, keySelector, comparator, false);
+    }
+
+    @Override
+    public <R extends Comparable<R>> OrderedStream<T> asOrderedByDescending(Selector<T, R> keySelector) {
+        return asOrderedByDescending(keySelector, SortKey.<R>naturalOrder());
+    }
+
+    @Override
+    public <R> OrderedStream<T> asOrderedByDescending(Selector<T, R> keySelector, Comparator<R> comparator) {
+        return OrderByStream.createPresorted(this, keySelector, comparator, true);
     }
 
     @Override
@@ -81,11 +268,33 @@ abstract class AbstractStream<T> implements Stream<T> {
         return new ReverseStream<>(this);
     }
 
+    @Override
+    public Stream<T> memoize() {
+        return new MemoizeStream<>(this);
+    }
+
+    @Override
+    public Stream<T> parallel() {
+        return ParallelStream.create(this, null, 0);
+    }
+
+    @Override
+    public Stream<T> parallel(ForkJoinPool pool, int threshold) {
+        if (pool == null) throw new NullPointerException("pool");
+        if (threshold <= 0) throw new IllegalArgumentException("threshold must be greater than 0: " + threshold);
+        return ParallelStream.create(this, pool, threshold);
+    }
+
     @Override
     public <R> R aggregate(R seed, Aggregator<T, R> aggregator) {
-        for (T t : this)
-            seed = aggregator.aggregate(seed, t);
-        return seed;
+        Aggregate<T, R> aggregate = new Aggregate<>(seed, aggregator);
+        forEachWhile(aggregate);
+        return aggregate.value;
+    }
+
+    @Override
+    public <R> R aggregate(R seed, Aggregator<T, R> aggregator, Aggregator<R, R> combiner) {
+        return aggregate(seed, aggregator);
     }
 
     @Override
@@ -100,73 +309,133 @@ abstract class AbstractStream<T> implements Stream<T> {
 
     @Override
     public Stream<T> distinct() {
-        final HashSet<T> set = new HashSet<>();
-        return where(new Predicate<T>() {
-            @Override
-            public boolean apply(T e) {
-                return set.add(e);
-            }
-        });
+        if (hasCharacteristics(DISTINCT)) return this;
+        return new DistinctStream<>(this, (Selector<T, T>) null);
+    }
+
+    @Override
+    public <K> Stream<T> distinctBy(Selector<T, K> keySelector) {
+        return new DistinctStream<>(this, keySelector);
+    }
+
+    @Override
+    public Stream<T> distinctByInt(SelectorInteger<T> keySelector) {
+        return distinctBy(keySelector);
+    }
+
+    @Override
+    public Stream<T> distinctByLong(SelectorLong<T> keySelector) {
+        return distinctBy(keySelector);
     }
 
+    @Override
+    public Stream<T> concat(Iterable<T> second) {
+        return new ConcatStream<>(this, wrap(second));
+    }
+
+    @Override
+    public Stream<T> union(Iterable<T> second) {
+        return concat(second).distinct();
+    }
+
+    @Override
+    public <K> Stream<T> union(Iterable<T> second, Selector<T, K> keySelector) {
+        return concat(second).distinctBy(keySelector);
+    }
+
+    @Override
+    public Stream<T> union(Iterable<T> second, EqualityComparator<T> comparator) {
+        return new DistinctStream<>(new ConcatStream<>(this, wrap(second)), comparator);
+    }
+
+    @Override
+    public Stream<T> intersect(Iterable<T> second) {
+        return new SetOperationStream<>(this, second, null, null, true);
+    }
+
+    @Override
+    public <K> Stream<T> intersect(Iterable<T> second, Selector<T, K> keySelector) {
+        return new SetOperationStream<>(this, second, keySelector, null, true);
+    }
+
+    @Override
+    public Stream<T> intersect(Iterable<T> second, EqualityComparator<T> comparator) {
+        return new SetOperationStream<>(this, second, null, comparator, true);
+    }
+
+    @Override
+    public Stream<T> except(Iterable<T> second) {
+        return new SetOperationStream<>(this, second, null, null, false);
+    }
+
+    @Override
+    public <K> Stream<T> except(Iterable<T> second, Selector<T, K> keySelector) {
+        return new SetOperationStream<>(this, second, keySelector, null, false);
+    }
+
+    @Override
+    public Stream<T> except(Iterable<T> second, EqualityComparator<T> comparator) {
+        return new SetOperationStream<>(this, second, null, comparator, false);
+    }
+
+    @Override
+    public Stream<T> distinct(int expectedSize, double falsePositiveRate) {
+        BloomFilter.checkArguments(expectedSize, falsePositiveRate);
+        if (hasCharacteristics(DISTINCT)) return this;
+        return new DistinctStream<>(this, null, expectedSize, falsePositiveRate);
+    }
+
+    @Override
+    public <K> Stream<T> distinctBy(Selector<T, K> keySelector, int expectedSize, double falsePositiveRate) {
+        return new DistinctStream<>(this, keySelector, expectedSize, falsePositiveRate);
+    }
+
+    /**
+     * Wrapping the {@code int} sum to a byte gives the same result as wrapping after every addition.
+     */
     @Override
     public Byte sum(final SelectorByte<T> selector) {
-        return aggregate((byte)0, new Aggregator<T, Byte>() {
+        return (byte) sum(new SelectorInteger<T>() {
             @Override
-            public Byte aggregate(Byte v, T t) {
-                return (byte) (v + selector.select(t));
+            public Integer select(T value) {
+                return (int) selector.select(value);
             }
-        });
+        }).intValue();
     }
 
     @Override
     public Short sum(final SelectorShort<T> selector) {
-        return aggregate((short)0, new Aggregator<T, Short>() {
+        return (short) sum(new SelectorInteger<T>() {
             @Override
-            public Short aggregate(Short v, T t) {
-                return (short) (v + selector.select(t));
+            public Integer select(T value) {
+                return (int) selector.select(value);
             }
-        });
+        }).intValue();
     }
 
     @Override
-    public Integer sum(final SelectorInteger<T> selector) {
-        return aggregate(0, new Aggregator<T, Integer>() {
-            @Override
-            public Integer aggregate(Integer v, T t) {
-                return v + selector.select(t);
-            }
-        });
+    public Integer sum(SelectorInteger<T> selector) {
+        return selectInt(selector).sum();
     }
 
     @Override
-    public Long sum(final SelectorLong<T> selector) {
-        return aggregate(0L, new Aggregator<T, Long>() {
-            @Override
-            public Long aggregate(Long v, T t) {
-                return v + selector.select(t);
-            }
-        });
+    public Long sum(SelectorLong<T> selector) {
+        return selectLong(selector).sum();
     }
 
     @Override
     public Float sum(final SelectorFloat<T> selector) {
-        return aggregate(0f, new Aggregator<T, Float>() {
+        return (float) sum(new SelectorDouble<T>() {
             @Override
-            public Float aggregate(Float v, T t) {
-                return v + selector.select(t);
+            public Double select(T value) {
+                return (double) selector.select(value);
             }
-        });
+        }).doubleValue();
     }
 
     @Override
-    public Double sum(final SelectorDouble<T> selector) {
-        return aggregate(0d, new Aggregator<T, Double>() {
-            @Override
-            public Double aggregate(Double v, T t) {
-                return v + selector.select(t);
-            }
-        });
+    public Double sum(SelectorDouble<T> selector) {
+        return selectDouble(selector).sum();
     }
 
     @Override
@@ -176,73 +445,220 @@ abstract class AbstractStream<T> implements Stream<T> {
             public BigDecimal aggregate(BigDecimal v, T t) {
                 return v.add(selector.select(t));
             }
+        }, new Aggregator<BigDecimal, BigDecimal>() {
+            @Override
+            public BigDecimal aggregate(BigDecimal v, BigDecimal w) {
+                return v.add(w);
+            }
         });
     }
 
     @Override
     public Byte average(SelectorByte<T> selector) {
-        return (byte)(sum(selector) / count());
+        return (byte) accumulate(selector).longValue();
     }
 
     @Override
     public Short average(SelectorShort<T> selector) {
-        return (short)(sum(selector) / count());
+        return (short) accumulate(selector).longValue();
     }
 
     @Override
     public Integer average(SelectorInteger<T> selector) {
-        return sum(selector) / count();
+        return (int) accumulate(selector).longValue();
     }
 
     @Override
     public Long average(SelectorLong<T> selector) {
-        return sum(selector) / count();
+        return accumulate(selector).longValue();
     }
 
     @Override
     public Float average(SelectorFloat<T> selector) {
-        return sum(selector) / count();
+        return (float) accumulate(selector).doubleValue();
     }
 
     @Override
     public Double average(SelectorDouble<T> selector) {
-        return sum(selector) / count();
+        return accumulate(selector).doubleValue();
     }
 
     @Override
     public BigDecimal average(SelectorBigDecimal<T> selector) {
-        //noinspection BigDecimalMethodWithoutRoundingCalled
-        return sum(selector).divide(new BigDecimal(count()));
+        return accumulate(selector).decimalValue(null);
     }
 
     @Override
     public BigDecimal average(SelectorBigDecimal<T> selector, MathContext mathContext) {
-        return sum(selector).divide(new BigDecimal(count()), mathContext);
+        return accumulate(selector).decimalValue(mathContext);
+    }
+
+    /**
+     * Sums and counts the selected values in a single pass, for the average overloads.
+     */
+    Average accumulate(final Selector<T, ? extends Number> selector) {
+        final Average average = new Average();
+        forEachWhile(new Predicate<T>() {
+            @Override
+            public boolean apply(T value) {
+                average.add(selector.select(value));
+                return true;
+            }
+        });
+        return average;
     }
 
     @Override
     public <TResult extends Comparable<TResult>> T min(Selector<T, TResult> selector) {
-        return orderBy(selector).first();
+        return minBy(selector).getValue();
     }
 
     @Override
     public <TResult> T min(Selector<T, TResult> selector, Comparator<TResult> comparator) {
-        return orderBy(selector, comparator).first();
+        return minBy(selector, comparator).getValue();
     }
 
     @Override
     public <TResult extends Comparable<TResult>> T max(Selector<T, TResult> selector) {
-        return orderBy(selector).last();
+        return maxBy(selector).getValue();
     }
 
     @Override
     public <TResult> T max(Selector<T, TResult> selector, Comparator<TResult> comparator) {
-        return orderBy(selector, comparator).last();
+        return maxBy(selector, comparator).getValue();
+    }
+
+    @Override
+    public <TKey extends Comparable<TKey>> Map.Entry<TKey, T> minBy(Selector<T, TKey> keySelector) {
+        return extremeBy(keySelector, true);
+    }
+
+    @Override
+    public <TKey> Map.Entry<TKey, T> minBy(Selector<T, TKey> keySelector, Comparator<TKey> comparator) {
+        return extremeBy(keySelector, comparator, true);
+    }
+
+    @Override
+    public <TKey extends Comparable<TKey>> Map.Entry<TKey, T> maxBy(Selector<T, TKey> keySelector) {
+        return extremeBy(keySelector, false);
+    }
+
+    @Override
+    public <TKey> Map.Entry<TKey, T> maxBy(Selector<T, TKey> keySelector, Comparator<TKey> comparator) {
+        return extremeBy(keySelector, comparator, false);
+    }
+
+    @Override
+    public Map.Entry<Integer, T> minByInt(SelectorInteger<T> keySelector) {
+        return minBy(keySelector);
+    }
+
+    @Override
+    public Map.Entry<Long, T> minByLong(SelectorLong<T> keySelector) {
+        return minBy(keySelector);
+    }
+
+    @Override
+    public Map.Entry<Integer, T> maxByInt(SelectorInteger<T> keySelector) {
+        return maxBy(keySelector);
+    }
+
+    @Override
+    public Map.Entry<Long, T> maxByLong(SelectorLong<T> keySelector) {
+        return maxBy(keySelector);
+    }
+
+    /**
+     * Finds the first element whose natural key is the smallest (or largest) in a single pass.
+     * Keys produced by {@link SelectorInteger}, {@link SelectorLong} and {@link SelectorDouble}
+     * are compared as primitives instead of through {@code compareTo}.
+     */
+    @SuppressWarnings("unchecked")
+    private <TKey extends Comparable<TKey>> Map.Entry<TKey, T> extremeBy(Selector<T, TKey> keySelector, boolean min) {
+        if (keySelector instanceof SelectorInteger)
+            return (Map.Entry<TKey, T>) extremeByInteger((SelectorInteger<T>) keySelector, min);
+        if (keySelector instanceof SelectorLong)
+            return (Map.Entry<TKey, T>) extremeByLong((SelectorLong<T>) keySelector, min);
+        if (keySelector instanceof SelectorDouble)
+            return (Map.Entry<TKey, T>) extremeByDouble((SelectorDouble<T>) keySelector, min);
+
+        return extremeBy(keySelector, SortKey.<TKey>naturalOrder(), min);
+    }
+
+    private <TKey> Map.Entry<TKey, T> extremeBy(Selector<T, TKey> keySelector, Comparator<TKey> comparator, boolean min) {
+        Iterator<T> iterator = iterator();
+        T result = iterator.next();
+        TKey resultKey = keySelector.select(result);
+        while (iterator.hasNext()) {
+            T t = iterator.next();
+            TKey key = keySelector.select(t);
+            int compare = comparator.compare(key, resultKey);
+            if (min ? compare < 0 : compare > 0) {
+                result = t;
+                resultKey = key;
+            }
+        }
+        return new AbstractMap.SimpleImmutableEntry<>(resultKey, result);
+    }
+
+    private Map.Entry<Integer, T> extremeByInteger(SelectorInteger<T> keySelector, boolean min) {
+        Iterator<T> iterator = iterator();
+        T result = iterator.next();
+        int resultKey = keySelector.select(result);
+        while (iterator.hasNext()) {
+            T t = iterator.next();
+            int key = keySelector.select(t);
+            if (min ? key < resultKey : key > resultKey) {
+                result = t;
+                resultKey = key;
+            }
+        }
+        return new AbstractMap.SimpleImmutableEntry<>(resultKey, result);
+    }
+
+    private Map.Entry<Long, T> extremeByLong(SelectorLong<T> keySelector, boolean min) {
+        Iterator<T> iterator = iterator();
+        T result = iterator.next();
+        long resultKey = keySelector.select(result);
+        while (iterator.hasNext()) {
+            T t = iterator.next();
+            long key = keySelector.select(t);
+            if (min ? key < resultKey : key > resultKey) {
+                result = t;
+                resultKey = key;
+            }
+        }
+        return new AbstractMap.SimpleImmutableEntry<>(resultKey, result);
+    }
+
+    private Map.Entry<Double, T> extremeByDouble(SelectorDouble<T> keySelector, boolean min) {
+        Iterator<T> iterator = iterator();
+        T result = iterator.next();
+        double resultKey = keySelector.select(result);
+        while (iterator.hasNext()) {
+            T t = iterator.next();
+            double key = keySelector.select(t);
+            // Double.compare keeps compareTo() semantics for NaN and -0.0
+            int compare = Double.compare(key, resultKey);
+            if (min ? compare < 0 : compare > 0) {
+                result = t;
+                resultKey = key;
+            }
+        }
+        return new AbstractMap.SimpleImmutableEntry<>(resultKey, result);
     }
 
     @Override
     public boolean any() {
-        return iterator().hasNext();
+        int size = exactSize();
+        if (size >= 0) return size > 0;
+        if (maxSize() == 0) return false;
+        return !forEachWhile(new Predicate<T>() {
+            @Override
+            public boolean apply(T value) {
+                return false;
+            }
+        });
     }
 
     @Override
@@ -272,17 +688,50 @@ abstract class AbstractStream<T> implements Stream<T> {
 
     @Override
     public int count() {
-        return aggregate(0, new Aggregator<T, Integer>() {
-            @Override
-            public Integer aggregate(Integer a, T t) {
-                return a + 1;
-            }
-        });
+        int size = exactSize();
+        if (size >= 0) return size;
+        if (maxSize() == 0) return 0;
+        Count<T> count = new Count<>();
+        forEachWhile(count);
+        return count.value;
+    }
+
+    @Override
+    public T elementAt(int index) {
+        if (index < 0) throw new IndexOutOfBoundsException("index: " + index);
+        if (hasCharacteristics(INDEXED)) {
+            if (index >= exactSize()) throw new IndexOutOfBoundsException("index: " + index);
+            return get(index);
+        }
+        Iterator<T> iterator = iterator();
+        for (int i = 0; iterator.hasNext(); i++) {
+            T t = iterator.next();
+            if (i == index)
+                return t;
+        }
+        throw new IndexOutOfBoundsException("index: " + index);
+    }
+
+    @Override
+    public T elementAtOrDefault(int index, T defaultValue) {
+        if (index < 0) return defaultValue;
+        if (hasCharacteristics(INDEXED))
+            return index < exactSize() ? get(index) : defaultValue;
+        Iterator<T> iterator = iterator();
+        for (int i = 0; iterator.hasNext(); i++) {
+            T t = iterator.next();
+            if (i == index)
+                return t;
+        }
+        return defaultValue;
     }
 
     @Override
     public T first() {
-        return iterator().next();
+        First<T> first = new First<>();
+        if (forEachWhile(first))
+            throw new NoSuchElementException();
+        return first.value;
     }
 
     @Override
@@ -302,8 +751,8 @@ abstract class AbstractStream<T> implements Stream<T> {
 
     @Override
     public T firstOrDefault(T defaultValue) {
-        Iterator<T> iterator = iterator();
-        return iterator.hasNext() ? iterator.next() : defaultValue;
+        First<T> first = new First<>();
+        return forEachWhile(first) ? defaultValue : first.value;
     }
 
     @Override
@@ -313,7 +762,15 @@ abstract class AbstractStream<T> implements Stream<T> {
 
     @Override
     public T last() {
-        return reverse().first();
+        if (hasCharacteristics(INDEXED)) {
+            int size = exactSize();
+            if (size == 0) throw new NoSuchElementException();
+            return get(size - 1);
+        }
+        Last<T> last = new Last<>();
+        forEachWhile(last);
+        if (!last.found) throw new NoSuchElementException();
+        return last.value;
     }
 
     @Override
@@ -333,7 +790,13 @@ abstract class AbstractStream<T> implements Stream<T> {
 
     @Override
     public T lastOrDefault(T defaultValue) {
-        return reverse().firstOrDefault(defaultValue);
+        if (hasCharacteristics(INDEXED)) {
+            int size = exactSize();
+            return size == 0 ? defaultValue : get(size - 1);
+        }
+        Last<T> last = new Last<>();
+        forEachWhile(last);
+        return last.found ? last.value : defaultValue;
     }
 
     @Override
@@ -383,9 +846,15 @@ abstract class AbstractStream<T> implements Stream<T> {
 
     @Override
     public List<T> toList() {
-        List<T> list = new ArrayList<>();
-        for (T entry : this)
-            list.add(entry);
+        int size = exactSize();
+        final List<T> list = size >= 0 ? new ArrayList<T>(size) : new ArrayList<T>();
+        forEachWhile(new Predicate<T>() {
+            @Override
+            public boolean apply(T value) {
+                list.add(value);
+                return true;
+            }
+        });
         return list;
     }
 
@@ -400,10 +869,231 @@ abstract class AbstractStream<T> implements Stream<T> {
     }
 
     @Override
-    public <K, V> Map<K, V> toMap(Selector<T, K> keySelector, Selector<T, V> valueSelector) {
-        Map<K, V> map = new HashMap<>();
-        for (T entry : this)
-            map.put(keySelector.select(entry), valueSelector.select(entry));
+    public <K, V> Map<K, V> toMap(final Selector<T, K> keySelector, final Selector<T, V> valueSelector) {
+        int size = exactSize();
+        final Map<K, V> map = size >= 0 ? new HashMap<K, V>(capacity(size)) : new HashMap<K, V>();
+        forEachWhile(new Predicate<T>() {
+            @Override
+            public boolean apply(T value) {
+                map.put(keySelector.select(value), valueSelector.select(value));
+                return true;
+            }
+        });
         return map;
     }
+
+    @Override
+    public <K> Lookup<K, T> toLookup(Selector<T, K> keySelector) {
+        return toLookup(keySelector, new Selector<T, T>() {
+            @Override
+            public T select(T t) {
+                return t;
+            }
+        });
+    }
+
+    @Override
+    public Lookup<Integer, T> toLookupInt(SelectorInteger<T> keySelector) {
+        return toLookup(keySelector);
+    }
+
+    @Override
+    public Lookup<Long, T> toLookupLong(SelectorLong<T> keySelector) {
+        return toLookup(keySelector);
+    }
+
+    @Override
+    public <K, E> Lookup<K, E> toLookup(Selector<T, K> keySelector, Selector<T, E> elementSelector) {
+        return ArrayLookup.create(this, keySelector, elementSelector);
+    }
+
+    /**
+     * Returns {@code iterable} itself if it is a stream, or a stream over it.
+     */
+    static <T> AbstractStream<T> wrap(Iterable<T> iterable) {
+        if (iterable instanceof AbstractStream) return (AbstractStream<T>) iterable;
+        if (iterable instanceof List) return new ListStream<>((List<T>) iterable);
+        if (iterable instanceof Collection) return new CollectionStream<>((Collection<T>) iterable);
+        return new IterableStream<>(iterable);
+    }
+
+    /**
+     * Returns a HashMap/HashSet capacity that holds {@code size} entries without rehashing.
+     */
+    static int capacity(int size) {
+        return size < 3 ? size + 1 : (int) (size / 0.75f + 1.0f);
+    }
+
+    /**
+     * Iterates an {@link #INDEXED} stream by position, forwards or backwards.
+     */
+    static class IndexedIterator<T> implements Iterator<T> {
+        private final AbstractStream<T> stream;
+        private final int increment;
+        private final int stopOn;
+        private int index;
+
+        IndexedIterator(AbstractStream<T> stream, boolean reverse) {
+            int size = stream.exactSize();
+            this.stream = stream;
+            this.increment = reverse ? -1 : 1;
+            this.index = reverse ? size - 1 : 0;
+            this.stopOn = reverse ? -1 : size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index != stopOn;
+        }
+
+        @Override
+        public T next() {
+            if (index == stopOn) throw new NoSuchElementException();
+            T next = stream.get(index);
+            index += increment;
+            return next;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+    }
+
+    private static class Aggregate<T, R> implements Predicate<T> {
+        private final Aggregator<T, R> aggregator;
+        private R value;
+
+        Aggregate(R seed, Aggregator<T, R> aggregator) {
+            this.aggregator = aggregator;
+            this.value = seed;
+        }
+
+        @Override
+        public boolean apply(T t) {
+            value = aggregator.aggregate(value, t);
+            return true;
+        }
+    }
+
+    /**
+     * Keeps one mutable cell per key, so an element costs a single map lookup. The cells are swapped for
+     * their values in place once every element is accumulated.
+     */
+    private static class GroupAggregate<T, K, R> implements Predicate<T> {
+        private final Selector<T, K> keySelector;
+        private final R seed;
+        private final Aggregator<T, R> aggregator;
+        private final Map<K, Object> cells = new LinkedHashMap<>();
+
+        GroupAggregate(Selector<T, K> keySelector, R seed, Aggregator<T, R> aggregator) {
+            this.keySelector = keySelector;
+            this.seed = seed;
+            this.aggregator = aggregator;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean apply(T t) {
+            K key = keySelector.select(t);
+            Cell<R> cell = (Cell<R>) cells.get(key);
+            if (cell == null) {
+                cell = new Cell<>(seed);
+                cells.put(key, cell);
+            }
+            cell.value = aggregator.aggregate(cell.value, t);
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<K, R> values() {
+            for (Map.Entry<K, Object> entry : cells.entrySet())
+                entry.setValue(((Cell<R>) entry.getValue()).value);
+            return (Map<K, R>) (Map<K, ?>) cells;
+        }
+
+        private static class Cell<R> {
+            private R value;
+
+            Cell(R value) {
+                this.value = value;
+            }
+        }
+    }
+
+    /**
+     * Like {@link GroupAggregate}, with an unboxed {@code long} per key. A {@code null} selector counts elements.
+     */
+    private static class GroupSum<T, K> implements Predicate<T> {
+        private final Selector<T, K> keySelector;
+        private final SelectorLong<T> selector;
+        private final Map<K, Object> cells = new LinkedHashMap<>();
+
+        GroupSum(Selector<T, K> keySelector, SelectorLong<T> selector) {
+            this.keySelector = keySelector;
+            this.selector = selector;
+        }
+
+        @Override
+        public boolean apply(T t) {
+            K key = keySelector.select(t);
+            Cell cell = (Cell) cells.get(key);
+            if (cell == null) {
+                cell = new Cell();
+                cells.put(key, cell);
+            }
+            cell.value += selector == null ? 1 : selector.select(t);
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<K, Long> sums() {
+            for (Map.Entry<K, Object> entry : cells.entrySet())
+                entry.setValue(((Cell) entry.getValue()).value);
+            return (Map<K, Long>) (Map<K, ?>) cells;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<K, Integer> counts() {
+            for (Map.Entry<K, Object> entry : cells.entrySet())
+                entry.setValue((int) ((Cell) entry.getValue()).value);
+            return (Map<K, Integer>) (Map<K, ?>) cells;
+        }
+
+        private static class Cell {
+            private long value;
+        }
+    }
+
+    private static class Count<T> implements Predicate<T> {
+        private int value;
+
+        @Override
+        public boolean apply(T t) {
+            value++;
+            return true;
+        }
+    }
+
+    private static class First<T> implements Predicate<T> {
+        private T value;
+
+        @Override
+        public boolean apply(T t) {
+            value = t;
+            return false;
+        }
+    }
+
+    private static class Last<T> implements Predicate<T> {
+        private T value;
+        private boolean found;
+
+        @Override
+        public boolean apply(T t) {
+            value = t;
+            found = true;
+            return true;
+        }
+    }
 }
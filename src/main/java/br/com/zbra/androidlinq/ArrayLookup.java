@@ -0,0 +1,248 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.Predicate;
+import br.com.zbra.androidlinq.delegate.Selector;
+import br.com.zbra.androidlinq.delegate.SelectorInteger;
+import br.com.zbra.androidlinq.delegate.SelectorLong;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * A {@link Lookup} laid out as a single array holding the elements of every key, grouped by key. Each
+ * key's {@link Grouping} holds a read-only view of its range of that array instead of a list of its own,
+ * so looking a key up allocates nothing but the returned Stream.
+ */
+class ArrayLookup<TKey, TElement> implements Lookup<TKey, TElement> {
+
+    private final Index<TKey, TElement> index;
+    private final Group<TKey, TElement>[] groups;
+
+    private ArrayLookup(Index<TKey, TElement> index, Group<TKey, TElement>[] groups) {
+        this.index = index;
+        this.groups = groups;
+    }
+
+    /**
+     * Reads {@code stream} once, selecting each key and element once. Keys produced by a
+     * {@link SelectorInteger} or {@link SelectorLong} are hashed unboxed.
+     */
+    static <T, TKey, TElement> ArrayLookup<TKey, TElement> create(AbstractStream<T> stream, final Selector<T, TKey> keySelector, final Selector<T, TElement> elementSelector) {
+        final Builder<TKey, TElement> builder = new Builder<>(Index.<T, TKey, TElement>create(keySelector), stream.exactSize());
+        stream.forEachWhile(new Predicate<T>() {
+            @Override
+            public boolean apply(T value) {
+                builder.add(keySelector.select(value), elementSelector.select(value));
+                return true;
+            }
+        });
+        return builder.build();
+    }
+
+    @Override
+    public Stream<TElement> get(TKey key) {
+        return new ListStream<>(list(key));
+    }
+
+    /**
+     * @return the elements indexed by {@code key}, as a read-only list; never {@code null}.
+     */
+    List<TElement> list(TKey key) {
+        Group<TKey, TElement> group = index.get(key);
+        return group == null ? Collections.<TElement>emptyList() : group.elements;
+    }
+
+    @Override
+    public boolean contains(TKey key) {
+        return index.get(key) != null;
+    }
+
+    @Override
+    public int count() {
+        return groups.length;
+    }
+
+    @Override
+    public Iterator<Grouping<TKey, TElement>> iterator() {
+        return groupings().iterator();
+    }
+
+    /**
+     * The groupings in key order, as an indexed stream that can be walked both ways.
+     */
+    AbstractStream<Grouping<TKey, TElement>> groupings() {
+        return new ArrayStream<Grouping<TKey, TElement>>(groups);
+    }
+
+    private static class Group<TKey, TElement> implements Grouping<TKey, TElement> {
+        private final TKey key;
+        private final int index;
+        private int count;
+        private Range<TElement> elements;
+
+        Group(TKey key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+
+        @Override
+        public TKey getKey() {
+            return key;
+        }
+
+        @Override
+        public Stream<TElement> getElements() {
+            return new ListStream<TElement>(elements);
+        }
+    }
+
+    private static class Range<E> extends AbstractList<E> implements RandomAccess {
+        private final Object[] elements;
+        private final int offset;
+        private final int size;
+
+        Range(Object[] elements, int offset, int size) {
+            this.elements = elements;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            return (E) elements[offset + index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Finds the group of each key.
+     */
+    private abstract static class Index<TKey, TElement> {
+
+        abstract Group<TKey, TElement> get(TKey key);
+
+        abstract void put(TKey key, Group<TKey, TElement> group);
+
+        @SuppressWarnings("unchecked")
+        static <T, TKey, TElement> Index<TKey, TElement> create(Selector<T, TKey> keySelector) {
+            if (keySelector instanceof SelectorInteger)
+                return (Index<TKey, TElement>) new IntIndex<TElement>();
+            if (keySelector instanceof SelectorLong)
+                return (Index<TKey, TElement>) new LongIndex<TElement>();
+            return new HashIndex<>();
+        }
+    }
+
+    private static class HashIndex<TKey, TElement> extends Index<TKey, TElement> {
+        private final Map<TKey, Group<TKey, TElement>> map = new HashMap<>();
+
+        @Override
+        Group<TKey, TElement> get(TKey key) {
+            return map.get(key);
+        }
+
+        @Override
+        void put(TKey key, Group<TKey, TElement> group) {
+            map.put(key, group);
+        }
+    }
+
+    private static class IntIndex<TElement> extends Index<Integer, TElement> {
+        private final IntObjectMap<Group<Integer, TElement>> map = new IntObjectMap<>();
+        private Group<Integer, TElement> nullGroup;
+
+        @Override
+        Group<Integer, TElement> get(Integer key) {
+            return key == null ? nullGroup : map.get(key);
+        }
+
+        @Override
+        void put(Integer key, Group<Integer, TElement> group) {
+            if (key == null) nullGroup = group;
+            else map.put(key, group);
+        }
+    }
+
+    private static class LongIndex<TElement> extends Index<Long, TElement> {
+        private final LongObjectMap<Group<Long, TElement>> map = new LongObjectMap<>();
+        private Group<Long, TElement> nullGroup;
+
+        @Override
+        Group<Long, TElement> get(Long key) {
+            return key == null ? nullGroup : map.get(key);
+        }
+
+        @Override
+        void put(Long key, Group<Long, TElement> group) {
+            if (key == null) nullGroup = group;
+            else map.put(key, group);
+        }
+    }
+
+    /**
+     * Collects keys and elements in source order, then scatters the elements into their key's range
+     * with a stable counting sort.
+     */
+    private static class Builder<TKey, TElement> {
+        private final Index<TKey, TElement> index;
+        private Group<TKey, TElement>[] groups;
+        private int groupCount;
+        private Object[] elements;
+        private int[] elementGroups;
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        Builder(Index<TKey, TElement> index, int exactSize) {
+            int capacity = exactSize >= 0 ? exactSize : 16;
+            this.index = index;
+            groups = (Group<TKey, TElement>[]) new Group<?, ?>[16];
+            elements = new Object[capacity];
+            elementGroups = new int[capacity];
+        }
+
+        void add(TKey key, TElement element) {
+            Group<TKey, TElement> group = index.get(key);
+            if (group == null) {
+                if (groupCount == groups.length)
+                    groups = Arrays.copyOf(groups, groupCount * 2);
+                group = new Group<>(key, groupCount);
+                groups[groupCount++] = group;
+                index.put(key, group);
+            }
+            group.count++;
+
+            if (size == elements.length) {
+                int capacity = Math.max(16, size * 2);
+                elements = Arrays.copyOf(elements, capacity);
+                elementGroups = Arrays.copyOf(elementGroups, capacity);
+            }
+            elements[size] = element;
+            elementGroups[size++] = group.index;
+        }
+
+        ArrayLookup<TKey, TElement> build() {
+            Object[] grouped = new Object[size];
+            int[] next = new int[groupCount];
+            for (int i = 0, offset = 0; i < groupCount; offset += groups[i++].count) {
+                next[i] = offset;
+                groups[i].elements = new Range<>(grouped, offset, groups[i].count);
+            }
+            for (int i = 0; i < size; i++)
+                grouped[next[elementGroups[i]]++] = elements[i];
+
+            return new ArrayLookup<>(index, Arrays.copyOf(groups, groupCount));
+        }
+    }
+}
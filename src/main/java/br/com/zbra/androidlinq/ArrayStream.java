@@ -1,5 +1,7 @@
 package br.com.zbra.androidlinq;
 
+import br.com.zbra.androidlinq.delegate.Predicate;
+
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -17,6 +19,29 @@ class ArrayStream<T> extends AbstractStream<T> {
         return source.length;
     }
 
+    @Override
+    protected int characteristics() {
+        return SIZED | INDEXED;
+    }
+
+    @Override
+    protected int exactSize() {
+        return source.length;
+    }
+
+    @Override
+    protected T get(int index) {
+        return source[index];
+    }
+
+    @Override
+    protected boolean forEachWhile(Predicate<T> action) {
+        for (T t : source)
+            if (!action.apply(t))
+                return false;
+        return true;
+    }
+
     @Override
     public Iterator<T> iterator() {
         return new ArrayIterator<>(source, 0, source.length - 1);
@@ -0,0 +1,128 @@
+package br.com.zbra.androidlinq;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * The running sum and count of a sequence of numbers, so an average takes a single pass. Integral
+ * values are summed into 128 bits, as a high and a low {@code long}, so no sum of {@code long} values
+ * overflows; floating point values are summed with Neumaier's compensation, so small values are not
+ * lost next to large ones. Averages of several chunks are combined with {@link #add(Average)}.
+ */
+class Average {
+
+    private static final BigInteger LOW_MASK = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+    private long count;
+
+    private long high;
+    private long low;
+
+    private double sum;
+    private double compensation;
+    private double simpleSum;
+
+    private BigDecimal decimalSum = BigDecimal.ZERO;
+
+    /**
+     * Adds {@code value} to the integral, floating point or BigDecimal sum, depending on its type.
+     */
+    void add(Number value) {
+        if (value instanceof Double || value instanceof Float)
+            add(value.doubleValue());
+        else if (value instanceof BigDecimal)
+            add((BigDecimal) value);
+        else
+            add(value.longValue());
+    }
+
+    void add(long value) {
+        count++;
+        addLong(value >> 63, value);
+    }
+
+    void add(double value) {
+        count++;
+        addDouble(value);
+        simpleSum += value;
+    }
+
+    void add(BigDecimal value) {
+        count++;
+        decimalSum = decimalSum.add(value);
+    }
+
+    void add(Average other) {
+        count += other.count;
+        high += other.high;
+        addLong(0, other.low);
+        addDouble(other.sum);
+        addDouble(other.compensation);
+        simpleSum += other.simpleSum;
+        decimalSum = decimalSum.add(other.decimalSum);
+    }
+
+    private void addLong(long valueHigh, long valueLow) {
+        long sum = low + valueLow;
+        // carry if the unsigned low word wrapped around
+        high += valueHigh + ((sum ^ Long.MIN_VALUE) < (low ^ Long.MIN_VALUE) ? 1 : 0);
+        low = sum;
+    }
+
+    private void addDouble(double value) {
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value))
+            compensation += (sum - t) + value;
+        else
+            compensation += (value - t) + sum;
+        sum = t;
+    }
+
+    /**
+     * The wrapped sum of the integral values, as {@code long} addition would give.
+     */
+    long longSum() {
+        return low;
+    }
+
+    /**
+     * The compensated sum of the floating point values.
+     */
+    double doubleSum() {
+        double total = sum + compensation;
+        // compensation turns into NaN once a sum overflows to an infinity
+        return Double.isNaN(total) && Double.isInfinite(simpleSum) ? simpleSum : total;
+    }
+
+    /**
+     * The average of the integral values, rounded toward zero.
+     *
+     * @throws ArithmeticException if there are no values.
+     */
+    long longValue() {
+        if (high == low >> 63) return low / count;
+        BigInteger total = BigInteger.valueOf(high).shiftLeft(64).or(BigInteger.valueOf(low).and(LOW_MASK));
+        return total.divide(BigInteger.valueOf(count)).longValue();
+    }
+
+    /**
+     * The average of the floating point values, or {@code NaN} if there are none.
+     */
+    double doubleValue() {
+        return doubleSum() / count;
+    }
+
+    /**
+     * The average of the BigDecimal values.
+     *
+     * @param mathContext how to round the quotient, or {@code null} for an exact quotient.
+     * @throws ArithmeticException if there are no values, or the exact quotient does not terminate.
+     */
+    BigDecimal decimalValue(MathContext mathContext) {
+        //noinspection BigDecimalMethodWithoutRoundingCalled
+        return mathContext == null
+                ? decimalSum.divide(new BigDecimal(count))
+                : decimalSum.divide(new BigDecimal(count), mathContext);
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.zbra.androidlinq;
+
+/**
+ * A fixed-size Bloom filter over 64-bit hashes. Its size is chosen once, from the expected number of
+ * insertions and the wanted false positive rate, and never grows. Bit positions are derived from two
+ * halves of the hash (Kirsch and Mitzenmacher), so each insertion hashes once.
+ */
+class BloomFilter {
+
+    private static final int MAX_HASH_FUNCTIONS = 16;
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        checkArguments(expectedInsertions, falsePositiveRate);
+
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int words = (int) Math.min((optimalBits + 63) >>> 6, Integer.MAX_VALUE - 8);
+        bits = new long[Math.max(words, 1)];
+        bitCount = (long) bits.length << 6;
+        hashFunctions = (int) Math.max(1, Math.min(MAX_HASH_FUNCTIONS, Math.round((double) bitCount / expectedInsertions * ln2)));
+    }
+
+    static void checkArguments(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0)
+            throw new IllegalArgumentException("expectedInsertions must be greater than 0: " + expectedInsertions);
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1))
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1: " + falsePositiveRate);
+    }
+
+    /**
+     * Records {@code hash}.
+     *
+     * @return {@code true} if {@code hash} was certainly not recorded before; {@code false} if it may have been.
+     */
+    boolean add(long hash) {
+        long hash1 = (int) hash;
+        long hash2 = (int) (hash >>> 32);
+        boolean added = false;
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitCount;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Hashes a key over 64 bits. Integral numbers, characters and doubles are hashed by value and
+     * strings by every character, so keys whose 32-bit {@code hashCode()} collide, such as "Aa" and
+     * "BB", still hash apart. Other keys only have their {@code hashCode()}, mixed with their class.
+     */
+    static long hash(Object key) {
+        if (key == null) return hash(0);
+        if (key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte)
+            return hash(((Number) key).longValue());
+        if (key instanceof Character)
+            return hash((Character) key);
+        if (key instanceof Double)
+            return hash(Double.doubleToLongBits((Double) key));
+        if (key instanceof CharSequence) {
+            CharSequence chars = (CharSequence) key;
+            long h = 0xCBF29CE484222325L;
+            for (int i = 0, length = chars.length(); i < length; i++)
+                h = (h ^ chars.charAt(i)) * 0x100000001B3L;
+            return hash(h);
+        }
+        return hash((long) key.getClass().hashCode() << 32 ^ key.hashCode());
+    }
+
+    /**
+     * Spreads a 64-bit value over all 64 bits.
+     */
+    static long hash(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        h *= 0xC2B2AE3D27D4EB4FL;
+        return h ^ (h >>> 29);
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.zbra.androidlinq;
+
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NavigableSet;
+
+/**
+ * A stream over a {@link Collection}, answering {@code count()}, {@code any()} and {@code contains()}
+ * with the collection's own operations: a HashSet finds an element in O(1), a TreeSet in O(log n).
+ * Hash-based sets are {@link #DISTINCT}; other sets may compare elements by a comparator or by
+ * identity, so they may hold elements that are equal according to {@code equals()}. Navigable sets
+ * and deques iterate backwards natively.
+ */
+class CollectionStream<T> extends AbstractStream<T> {
+
+    private final Collection<T> collection;
+
+    CollectionStream(Collection<T> collection) {
+        this.collection = collection;
+    }
+
+    @Override
+    protected int characteristics() {
+        return collection instanceof HashSet || collection instanceof EnumSet ? SIZED | DISTINCT : SIZED;
+    }
+
+    @Override
+    protected int exactSize() {
+        return collection.size();
+    }
+
+    @Override
+    public int count() {
+        return collection.size();
+    }
+
+    @Override
+    public boolean any() {
+        return !collection.isEmpty();
+    }
+
+    /**
+     * Collections that reject a {@code null} or foreign element instead of answering {@code false}
+     * are scanned instead.
+     */
+    @Override
+    public boolean contains(T element) {
+        try {
+            return collection.contains(element);
+        } catch (NullPointerException | ClassCastException e) {
+            return super.contains(element);
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return collection.iterator();
+    }
+
+    @Override
+    protected Iterator<T> reverseIterator() {
+        if (collection instanceof NavigableSet)
+            return ((NavigableSet<T>) collection).descendingIterator();
+        if (collection instanceof Deque)
+            return ((Deque<T>) collection).descendingIterator();
+        return super.reverseIterator();
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.Predicate;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+class ConcatStream<T> extends AbstractStream<T> {
+
+    private final AbstractStream<T> first;
+    private final AbstractStream<T> second;
+
+    ConcatStream(AbstractStream<T> first, AbstractStream<T> second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * Sized and indexed if both sides are, and free of nulls if both sides are. Order and
+     * distinctness do not survive concatenation.
+     */
+    @Override
+    protected int characteristics() {
+        int characteristics = first.characteristics() & second.characteristics() & (SIZED | INDEXED | NONNULL);
+        return exactSize() >= 0 ? characteristics : characteristics & ~(SIZED | INDEXED);
+    }
+
+    @Override
+    protected int exactSize() {
+        int firstSize = first.exactSize();
+        int secondSize = second.exactSize();
+        if (firstSize < 0 || secondSize < 0) return -1;
+        long size = (long) firstSize + secondSize;
+        return size <= Integer.MAX_VALUE ? (int) size : -1;
+    }
+
+    @Override
+    protected int maxSize() {
+        return (int) Math.min((long) first.maxSize() + second.maxSize(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    protected T get(int index) {
+        int firstSize = first.exactSize();
+        return index < firstSize ? first.get(index) : second.get(index - firstSize);
+    }
+
+    @Override
+    protected boolean forEachWhile(Predicate<T> action) {
+        return first.forEachWhile(action) && second.forEachWhile(action);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ConcatIterator<>(first.iterator(), second);
+    }
+
+    @Override
+    protected Iterator<T> reverseIterator() {
+        return new ConcatIterator<>(second.reverseIterator(), new ReverseStream<>(first));
+    }
+
+    /**
+     * Starts on the second sequence only once the first one is exhausted.
+     */
+    private static class ConcatIterator<T> implements Iterator<T> {
+        private Iterator<T> iterator;
+        private Iterable<T> next;
+
+        ConcatIterator(Iterator<T> iterator, Iterable<T> next) {
+            this.iterator = iterator;
+            this.next = next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (iterator.hasNext()) return true;
+            if (next == null) return false;
+            iterator = next.iterator();
+            next = null;
+            return iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return iterator.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+    }
+}
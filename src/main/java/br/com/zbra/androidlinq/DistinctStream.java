@@ -0,0 +1,200 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.EqualityComparator;
+import br.com.zbra.androidlinq.delegate.Predicate;
+import br.com.zbra.androidlinq.delegate.Selector;
+import br.com.zbra.androidlinq.delegate.SelectorInteger;
+import br.com.zbra.androidlinq.delegate.SelectorLong;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+class DistinctStream<T, TKey> extends AbstractStream<T> {
+
+    /**
+     * Sets are presized from the size of the source up to this many keys. Beyond it the source may well be
+     * mostly duplicates, so the set grows as keys are found instead.
+     */
+    private static final int PRESIZE_LIMIT = 1 << 16;
+
+    private final AbstractStream<T> stream;
+    private final Selector<T, TKey> keySelector;
+    private final EqualityComparator<T> comparator;
+    private final int expectedSize;
+    private final double falsePositiveRate;
+
+    /**
+     * @param keySelector selects the key elements are compared by; {@code null} compares the elements themselves.
+     */
+    DistinctStream(AbstractStream<T> stream, Selector<T, TKey> keySelector) {
+        this(stream, keySelector, null, 0, 0);
+    }
+
+    /**
+     * Compares elements with {@code comparator}, which cannot hash them, so each element is compared
+     * against every distinct element found before it.
+     */
+    DistinctStream(AbstractStream<T> stream, EqualityComparator<T> comparator) {
+        this(stream, null, comparator, 0, 0);
+    }
+
+    /**
+     * Tracks keys in a Bloom filter of a fixed size instead of a set.
+     */
+    DistinctStream(AbstractStream<T> stream, Selector<T, TKey> keySelector, int expectedSize, double falsePositiveRate) {
+        this(stream, keySelector, null, expectedSize, falsePositiveRate);
+        BloomFilter.checkArguments(expectedSize, falsePositiveRate);
+    }
+
+    private DistinctStream(AbstractStream<T> stream, Selector<T, TKey> keySelector, EqualityComparator<T> comparator, int expectedSize, double falsePositiveRate) {
+        this.stream = stream;
+        this.keySelector = keySelector;
+        this.comparator = comparator;
+        this.expectedSize = expectedSize;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Elements compared by a comparator may still be equal according to {@code equals()}.
+     */
+    @Override
+    protected int characteristics() {
+        int characteristics = stream.characteristics() & ~(SIZED | INDEXED);
+        return comparator == null ? characteristics | DISTINCT : characteristics;
+    }
+
+    @Override
+    protected int maxSize() {
+        return stream.maxSize();
+    }
+
+    /**
+     * Distinct elements are the elements of the source, unless keys or a Bloom filter decide which are kept.
+     */
+    @Override
+    public boolean contains(T element) {
+        if (keySelector == null && comparator == null && falsePositiveRate == 0)
+            return stream.contains(element);
+        return super.contains(element);
+    }
+
+    @Override
+    protected boolean forEachWhile(final Predicate<T> action) {
+        final Predicate<T> firstOccurrence = firstOccurrence();
+        return stream.forEachWhile(new Predicate<T>() {
+            @Override
+            public boolean apply(T value) {
+                return !firstOccurrence.apply(value) || action.apply(value);
+            }
+        });
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new WhereStream<>(stream, firstOccurrence()).iterator();
+    }
+
+    /**
+     * Every iteration gets its own filter, so a distinct stream can be enumerated more than once.
+     * Keys produced by a {@link SelectorInteger} or {@link SelectorLong} are kept unboxed.
+     */
+    @SuppressWarnings("unchecked")
+    private Predicate<T> firstOccurrence() {
+        if (comparator != null) {
+            final ScanSet<T> seen = new ScanSet<>(comparator);
+            return new Predicate<T>() {
+                @Override
+                public boolean apply(T value) {
+                    return seen.add(value);
+                }
+            };
+        }
+        if (falsePositiveRate > 0)
+            return new FirstBloomOccurrence<>(keySelector, new BloomFilter(expectedSize, falsePositiveRate));
+
+        int maxSize = stream.maxSize();
+        int presize = maxSize == Integer.MAX_VALUE ? 0 : Math.min(maxSize, PRESIZE_LIMIT);
+        if (keySelector instanceof SelectorInteger)
+            return new FirstIntOccurrence<>((SelectorInteger<T>) keySelector, presize);
+        if (keySelector instanceof SelectorLong)
+            return new FirstLongOccurrence<>((SelectorLong<T>) keySelector, presize);
+        return new FirstOccurrence<>(keySelector, presize);
+    }
+
+    /**
+     * Accepts the first element of each key.
+     */
+    private static class FirstOccurrence<T, TKey> implements Predicate<T> {
+        private final Selector<T, TKey> keySelector;
+        private final Set<Object> seen;
+
+        FirstOccurrence(Selector<T, TKey> keySelector, int presize) {
+            this.keySelector = keySelector;
+            this.seen = new HashSet<>(capacity(presize));
+        }
+
+        @Override
+        public boolean apply(T value) {
+            return seen.add(keySelector == null ? value : keySelector.select(value));
+        }
+    }
+
+    private static class FirstIntOccurrence<T> implements Predicate<T> {
+        private final SelectorInteger<T> keySelector;
+        private final IntSet seen;
+        private boolean seenNull;
+
+        FirstIntOccurrence(SelectorInteger<T> keySelector, int presize) {
+            this.keySelector = keySelector;
+            this.seen = new IntSet(presize);
+        }
+
+        @Override
+        public boolean apply(T value) {
+            Integer key = keySelector.select(value);
+            if (key != null) return seen.add(key);
+            if (seenNull) return false;
+            return seenNull = true;
+        }
+    }
+
+    private static class FirstLongOccurrence<T> implements Predicate<T> {
+        private final SelectorLong<T> keySelector;
+        private final LongSet seen;
+        private boolean seenNull;
+
+        FirstLongOccurrence(SelectorLong<T> keySelector, int presize) {
+            this.keySelector = keySelector;
+            this.seen = new LongSet(presize);
+        }
+
+        @Override
+        public boolean apply(T value) {
+            Long key = keySelector.select(value);
+            if (key != null) return seen.add(key);
+            if (seenNull) return false;
+            return seenNull = true;
+        }
+    }
+
+    /**
+     * Accepts an element unless its key may have been seen: keys are hashed into a fixed-size Bloom
+     * filter, so a key that was seen is always rejected, and a key that was not is rejected at the
+     * filter's false positive rate. See {@link BloomFilter#hash(Object)} for how keys are hashed.
+     */
+    private static class FirstBloomOccurrence<T, TKey> implements Predicate<T> {
+        private final Selector<T, TKey> keySelector;
+        private final BloomFilter seen;
+
+        FirstBloomOccurrence(Selector<T, TKey> keySelector, BloomFilter seen) {
+            this.keySelector = keySelector;
+            this.seen = seen;
+        }
+
+        @Override
+        public boolean apply(T value) {
+            return seen.add(BloomFilter.hash(keySelector == null ? value : keySelector.select(value)));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.OperatorDouble;
+import br.com.zbra.androidlinq.delegate.PredicateDouble;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A sequence of primitive {@code double} values. Values are kept unboxed through every operation.
+ *
+ * @see br.com.zbra.androidlinq.Stream#selectDouble(br.com.zbra.androidlinq.delegate.SelectorDouble)
+ */
+public interface DoubleStream {
+    /**
+     * Filters a sequence of values based on a predicate.
+     *
+     * @param predicate A function to test each value for a condition.
+     * @return An DoubleStream that contains values from the input sequence that satisfy the condition.
+     */
+    DoubleStream where(PredicateDouble predicate);
+
+    /**
+     * Projects each value of a sequence into a new value.
+     *
+     * @param operator A transform function to apply to each value.
+     * @return An DoubleStream whose values are the result of invoking the transform function on each value of source.
+     */
+    DoubleStream map(OperatorDouble operator);
+
+    /**
+     * Computes the sum of the sequence.
+     *
+     * @return The sum of the values, or 0 if the sequence is empty.
+     */
+    double sum();
+
+    /**
+     * Returns the minimum value of the sequence.
+     *
+     * @return The minimum value.
+     * @throws NoSuchElementException if the sequence is empty.
+     */
+    double min();
+
+    /**
+     * Returns the maximum value of the sequence.
+     *
+     * @return The maximum value.
+     * @throws NoSuchElementException if the sequence is empty.
+     */
+    double max();
+
+    /**
+     * Computes the average of the sequence.
+     *
+     * @return The average of the values, or {@code NaN} if the sequence is empty.
+     */
+    double average();
+
+    /**
+     * Returns the number of values in a sequence.
+     *
+     * @return The number of values in the input sequence.
+     */
+    int count();
+
+    /**
+     * Creates an array from the sequence.
+     *
+     * @return An array that contains the values from the input sequence.
+     */
+    double[] toArray();
+}
@@ -1,9 +1,9 @@
 package br.com.zbra.androidlinq;
 
+import br.com.zbra.androidlinq.delegate.Predicate;
 import br.com.zbra.androidlinq.delegate.Selector;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 
@@ -23,42 +23,45 @@ class GroupByStream<T, TKey, TElement> extends AbstractStream<Grouping<TKey, TEl
     }
 
     @Override
-    public Iterator<Grouping<TKey, TElement>> iterator() {
-        return getGroupingIterator(stream.iterator());
+    protected int characteristics() {
+        return DISTINCT | NONNULL;
     }
 
     @Override
-    protected Iterator<Grouping<TKey, TElement>> reverseIterator() {
-        return super.reverseIterator();
+    protected int maxSize() {
+        return stream.maxSize();
     }
 
-    private Iterator<Grouping<TKey, TElement>> getGroupingIterator(Iterator<T> iterator) {
-        HashMap<TKey, GroupingImpl<TKey, TElement>> map = new HashMap<>();
-        List<Grouping<TKey, TElement>> groupings = new ArrayList<>();
-
-        while (iterator.hasNext()) {
-            T t = iterator.next();
-            TKey key = keySelector.select(t);
-            TElement element = elementSelector.select(t);
+    @Override
+    protected boolean forEachWhile(Predicate<Grouping<TKey, TElement>> action) {
+        return getGroupings().forEachWhile(action);
+    }
 
-            GroupingImpl<TKey, TElement> grouping = map.get(key);
-            if (grouping == null) {
-                grouping = new GroupingImpl<>(key);
-                map.put(key, grouping);
-                groupings.add(grouping);
-            }
+    @Override
+    public Iterator<Grouping<TKey, TElement>> iterator() {
+        return getGroupings().iterator();
+    }
 
-            grouping.source.add(element);
-        }
+    @Override
+    protected Iterator<Grouping<TKey, TElement>> reverseIterator() {
+        return getGroupings().reverseIterator();
+    }
 
-        return groupings.iterator();
+    /**
+     * Each iteration groups the source again, so changes to it are seen; use toLookup to keep the groups.
+     */
+    private AbstractStream<Grouping<TKey, TElement>> getGroupings() {
+        return ArrayLookup.create(stream, keySelector, elementSelector).groupings();
     }
 
-    private static class GroupingImpl<TKey, TElement> implements Grouping<TKey, TElement> {
+    /**
+     * Groups built element by element, for merging partial results such as those of parallel chunks.
+     */
+    static class GroupingImpl<TKey, TElement> implements Grouping<TKey, TElement> {
         private final TKey key;
-        private final List<TElement> source;
+        final List<TElement> source;
 
-        private GroupingImpl(TKey key) {
+        GroupingImpl(TKey key) {
             this.key = key;
             this.source = new ArrayList<>();
         }
@@ -0,0 +1,80 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.EqualityComparator;
+import br.com.zbra.androidlinq.delegate.JoinSelector;
+import br.com.zbra.androidlinq.delegate.Predicate;
+import br.com.zbra.androidlinq.delegate.Selector;
+
+import java.util.Iterator;
+
+class GroupJoinStream<TOuter, TInner, TKey, TResult> extends AbstractStream<TResult> {
+
+    private final AbstractStream<TOuter> outer;
+    private final Iterable<TInner> inner;
+    private final Selector<TOuter, TKey> outerKeySelector;
+    private final Selector<TInner, TKey> innerKeySelector;
+    private final JoinSelector<TOuter, Stream<TInner>, TResult> resultSelector;
+    private final EqualityComparator<TKey> comparator;
+
+    GroupJoinStream(AbstractStream<TOuter> outer,
+                    Iterable<TInner> inner,
+                    Selector<TOuter, TKey> outerKeySelector,
+                    Selector<TInner, TKey> innerKeySelector,
+                    JoinSelector<TOuter, Stream<TInner>, TResult> resultSelector,
+                    EqualityComparator<TKey> comparator) {
+        this.outer = outer;
+        this.inner = inner;
+        this.outerKeySelector = outerKeySelector;
+        this.innerKeySelector = innerKeySelector;
+        this.resultSelector = resultSelector;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Every outer element yields exactly one result, so the size is the size of the outer sequence.
+     */
+    @Override
+    public int count() {
+        return outer.count();
+    }
+
+    @Override
+    protected int characteristics() {
+        return outer.characteristics() & SIZED;
+    }
+
+    @Override
+    protected int exactSize() {
+        return outer.exactSize();
+    }
+
+    @Override
+    protected int maxSize() {
+        return outer.maxSize();
+    }
+
+    @Override
+    protected boolean forEachWhile(Predicate<TResult> action) {
+        return groups().forEachWhile(action);
+    }
+
+    @Override
+    public Iterator<TResult> iterator() {
+        return groups().iterator();
+    }
+
+    @Override
+    protected Iterator<TResult> reverseIterator() {
+        return groups().reverseIterator();
+    }
+
+    private SelectStream<TOuter, TResult> groups() {
+        final JoinStream.Table<TKey, TInner> table = JoinStream.Table.create(inner, innerKeySelector, comparator);
+        return new SelectStream<>(outer, new Selector<TOuter, TResult>() {
+            @Override
+            public TResult select(TOuter outerElement) {
+                return resultSelector.select(outerElement, new ListStream<>(table.get(outerKeySelector.select(outerElement))));
+            }
+        });
+    }
+}
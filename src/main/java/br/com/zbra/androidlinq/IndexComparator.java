@@ -0,0 +1,8 @@
+package br.com.zbra.androidlinq;
+
+/**
+ * Compares two elements of a buffered sequence by their position in the buffer.
+ */
+interface IndexComparator {
+    int compare(int index1, int index2);
+}
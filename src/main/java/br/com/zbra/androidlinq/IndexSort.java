@@ -0,0 +1,116 @@
+package br.com.zbra.androidlinq;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Merge sort over element indexes, used by {@link OrderByStream} once the sort keys are cached.
+ */
+final class IndexSort {
+
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private IndexSort() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return the indexes {@code 0..size-1} sorted according to {@code comparator}.
+     */
+    static int[] sort(int size, IndexComparator comparator) {
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++)
+            indexes[i] = i;
+        mergeSort(indexes.clone(), indexes, 0, size, comparator);
+        return indexes;
+    }
+
+    /**
+     * Sorts like {@link #sort(int, IndexComparator)}, sorting both halves of any range longer than
+     * {@code threshold} in parallel on {@code pool}. The result is the same as the sequential sort.
+     */
+    static int[] sort(int size, IndexComparator comparator, ForkJoinPool pool, int threshold) {
+        if (size <= threshold)
+            return sort(size, comparator);
+
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++)
+            indexes[i] = i;
+        pool.invoke(new MergeSortTask(indexes.clone(), indexes, 0, size, comparator, threshold));
+        return indexes;
+    }
+
+    /**
+     * Sorts {@code dest[low, high)}; {@code src} must hold the same values on that range and is used as scratch.
+     */
+    private static void mergeSort(int[] src, int[] dest, int low, int high, IndexComparator comparator) {
+        int length = high - low;
+
+        if (length < INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; i++) {
+                int index = dest[i];
+                int j = i;
+                for (; j > low && comparator.compare(dest[j - 1], index) > 0; j--)
+                    dest[j] = dest[j - 1];
+                dest[j] = index;
+            }
+            return;
+        }
+
+        int mid = (low + high) >>> 1;
+        mergeSort(dest, src, low, mid, comparator);
+        mergeSort(dest, src, mid, high, comparator);
+        merge(src, dest, low, mid, high, comparator);
+    }
+
+    /**
+     * Merges the sorted ranges {@code src[low, mid)} and {@code src[mid, high)} into {@code dest[low, high)}.
+     */
+    private static void merge(int[] src, int[] dest, int low, int mid, int high, IndexComparator comparator) {
+        // halves are already in order
+        if (comparator.compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, low, dest, low, high - low);
+            return;
+        }
+
+        for (int i = low, p = low, q = mid; i < high; i++) {
+            if (q >= high || p < mid && comparator.compare(src[p], src[q]) <= 0)
+                dest[i] = src[p++];
+            else
+                dest[i] = src[q++];
+        }
+    }
+
+    private static class MergeSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int[] dest;
+        private final int low;
+        private final int high;
+        private final IndexComparator comparator;
+        private final int threshold;
+
+        MergeSortTask(int[] src, int[] dest, int low, int high, IndexComparator comparator, int threshold) {
+            this.src = src;
+            this.dest = dest;
+            this.low = low;
+            this.high = high;
+            this.comparator = comparator;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= threshold) {
+                mergeSort(src, dest, low, high, comparator);
+                return;
+            }
+
+            int mid = (low + high) >>> 1;
+            invokeAll(new MergeSortTask(dest, src, low, mid, comparator, threshold),
+                    new MergeSortTask(dest, src, mid, high, comparator, threshold));
+            merge(src, dest, low, mid, high, comparator);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.zbra.androidlinq;
+
+/**
+ * An open-addressing hash map from {@code int} keys to non-null values, with linear probing. Keys are
+ * stored unboxed next to their values in two parallel arrays, with no entry object per key. A slot is
+ * free if its value is {@code null}; the table is kept at most three quarters full.
+ */
+class IntObjectMap<V> {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    IntObjectMap() {
+        this(0);
+    }
+
+    IntObjectMap(int expectedSize) {
+        int capacity = 4;
+        while (capacity < MAX_CAPACITY && threshold(capacity) < expectedSize)
+            capacity <<= 1;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            Object value = values[i];
+            if (value == null) return null;
+            if (keys[i] == key) return (V) value;
+        }
+    }
+
+    /**
+     * @return the value previously mapped to {@code key}, or {@code null} if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    V put(int key, V value) {
+        if (value == null) throw new NullPointerException("value");
+
+        int i = hash(key) & mask;
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+
+        keys[i] = key;
+        values[i] = value;
+        if (++size > threshold(mask + 1) && mask + 1 < MAX_CAPACITY)
+            rehash();
+        return null;
+    }
+
+    private static int threshold(int capacity) {
+        return capacity - (capacity >>> 2);
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        int capacity = oldKeys.length * 2;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] == null) continue;
+            int i = hash(oldKeys[j]) & mask;
+            while (values[i] != null)
+                i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    /**
+     * Spreads sequential keys across the table, which linear probing needs.
+     */
+    static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.zbra.androidlinq;
+
+/**
+ * An open-addressing hash set of {@code int} values, with linear probing over a single unboxed array.
+ * A slot is free if it holds 0, so 0 itself is tracked by a flag; the table is kept at most three
+ * quarters full.
+ */
+class IntSet {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private int[] keys;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+
+    IntSet() {
+        this(0);
+    }
+
+    IntSet(int expectedSize) {
+        int capacity = 4;
+        while (capacity < MAX_CAPACITY && threshold(capacity) < expectedSize)
+            capacity <<= 1;
+        keys = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int key) {
+        if (key == 0) return containsZero;
+        for (int i = IntObjectMap.hash(key) & mask; keys[i] != 0; i = (i + 1) & mask)
+            if (keys[i] == key)
+                return true;
+        return false;
+    }
+
+    /**
+     * @return {@code true} if {@code key} was not in the set yet.
+     */
+    boolean add(int key) {
+        if (key == 0) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+
+        int i = IntObjectMap.hash(key) & mask;
+        for (; keys[i] != 0; i = (i + 1) & mask)
+            if (keys[i] == key)
+                return false;
+
+        keys[i] = key;
+        if (++size > threshold(mask + 1) && mask + 1 < MAX_CAPACITY)
+            rehash();
+        return true;
+    }
+
+    private static int threshold(int capacity) {
+        return capacity - (capacity >>> 2);
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        int capacity = oldKeys.length * 2;
+        keys = new int[capacity];
+        mask = capacity - 1;
+
+        for (int key : oldKeys) {
+            if (key == 0) continue;
+            int i = IntObjectMap.hash(key) & mask;
+            while (keys[i] != 0)
+                i = (i + 1) & mask;
+            keys[i] = key;
+        }
+    }
+}
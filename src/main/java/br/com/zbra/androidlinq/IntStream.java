@@ -0,0 +1,74 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.OperatorInteger;
+import br.com.zbra.androidlinq.delegate.PredicateInteger;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A sequence of primitive {@code int} values. Values are kept unboxed through every operation.
+ *
+ * @see br.com.zbra.androidlinq.Stream#selectInt(br.com.zbra.androidlinq.delegate.SelectorInteger)
+ */
+public interface IntStream {
+    /**
+     * Filters a sequence of values based on a predicate.
+     *
+     * @param predicate A function to test each value for a condition.
+     * @return An IntStream that contains values from the input sequence that satisfy the condition.
+     */
+    IntStream where(PredicateInteger predicate);
+
+    /**
+     * Projects each value of a sequence into a new value.
+     *
+     * @param operator A transform function to apply to each value.
+     * @return An IntStream whose values are the result of invoking the transform function on each value of source.
+     */
+    IntStream map(OperatorInteger operator);
+
+    /**
+     * Computes the sum of the sequence.
+     *
+     * @return The sum of the values, or 0 if the sequence is empty.
+     */
+    int sum();
+
+    /**
+     * Returns the minimum value of the sequence.
+     *
+     * @return The minimum value.
+     * @throws NoSuchElementException if the sequence is empty.
+     */
+    int min();
+
+    /**
+     * Returns the maximum value of the sequence.
+     *
+     * @return The maximum value.
+     * @throws NoSuchElementException if the sequence is empty.
+     */
+    int max();
+
+    /**
+     * Computes the average of the sequence.
+     *
+     * @return The average of the values.
+     * @throws ArithmeticException if the sequence is empty.
+     */
+    int average();
+
+    /**
+     * Returns the number of values in a sequence.
+     *
+     * @return The number of values in the input sequence.
+     */
+    int count();
+
+    /**
+     * Creates an array from the sequence.
+     *
+     * @return An array that contains the values from the input sequence.
+     */
+    int[] toArray();
+}
@@ -0,0 +1,151 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.EqualityComparator;
+import br.com.zbra.androidlinq.delegate.JoinSelector;
+import br.com.zbra.androidlinq.delegate.Predicate;
+import br.com.zbra.androidlinq.delegate.Selector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+class JoinStream<TOuter, TInner, TKey, TResult> extends AbstractStream<TResult> {
+
+    private final AbstractStream<TOuter> outer;
+    private final Iterable<TInner> inner;
+    private final Selector<TOuter, TKey> outerKeySelector;
+    private final Selector<TInner, TKey> innerKeySelector;
+    private final JoinSelector<TOuter, TInner, TResult> resultSelector;
+    private final EqualityComparator<TKey> comparator;
+
+    JoinStream(AbstractStream<TOuter> outer,
+               Iterable<TInner> inner,
+               Selector<TOuter, TKey> outerKeySelector,
+               Selector<TInner, TKey> innerKeySelector,
+               JoinSelector<TOuter, TInner, TResult> resultSelector,
+               EqualityComparator<TKey> comparator) {
+        this.outer = outer;
+        this.inner = inner;
+        this.outerKeySelector = outerKeySelector;
+        this.innerKeySelector = innerKeySelector;
+        this.resultSelector = resultSelector;
+        this.comparator = comparator;
+    }
+
+    @Override
+    protected boolean forEachWhile(Predicate<TResult> action) {
+        return matches().forEachWhile(action);
+    }
+
+    @Override
+    public Iterator<TResult> iterator() {
+        return matches().iterator();
+    }
+
+    @Override
+    protected Iterator<TResult> reverseIterator() {
+        return matches().reverseIterator();
+    }
+
+    /**
+     * Builds the table of inner elements and flattens each outer element into its matches. Outer
+     * elements without a match share the empty list; the others get their results in a list of their own.
+     */
+    private SelectManyStream<TOuter, TResult> matches() {
+        final Table<TKey, TInner> table = Table.create(inner, innerKeySelector, comparator);
+        return new SelectManyStream<>(outer, new Selector<TOuter, Iterable<TResult>>() {
+            @Override
+            public Iterable<TResult> select(TOuter outerElement) {
+                List<TInner> matches = table.get(outerKeySelector.select(outerElement));
+                if (matches.isEmpty()) return Collections.emptyList();
+
+                List<TResult> results = new ArrayList<>(matches.size());
+                for (TInner innerElement : matches)
+                    results.add(resultSelector.select(outerElement, innerElement));
+                return results;
+            }
+        });
+    }
+
+    /**
+     * The inner elements of a join, indexed by key. Keys are selected once, when the table is built.
+     */
+    abstract static class Table<TKey, TInner> {
+
+        /**
+         * @return the inner elements whose key matches {@code key}, in their original order; never {@code null}.
+         */
+        abstract List<TInner> get(TKey key);
+
+        static <TKey, TInner> Table<TKey, TInner> create(Iterable<TInner> inner, Selector<TInner, TKey> keySelector, EqualityComparator<TKey> comparator) {
+            return comparator == null
+                    ? new HashTable<>(inner, keySelector)
+                    : new ScanTable<>(inner, keySelector, comparator);
+        }
+    }
+
+    private static class HashTable<TKey, TInner> extends Table<TKey, TInner> {
+        private final Map<TKey, List<TInner>> map;
+
+        HashTable(Iterable<TInner> inner, Selector<TInner, TKey> keySelector) {
+            map = inner instanceof Collection
+                    ? new HashMap<TKey, List<TInner>>(capacity(((Collection<TInner>) inner).size()))
+                    : new HashMap<TKey, List<TInner>>();
+
+            for (TInner element : inner) {
+                TKey key = keySelector.select(element);
+                if (key == null) continue;
+
+                List<TInner> elements = map.get(key);
+                if (elements == null) {
+                    elements = new ArrayList<>(1);
+                    map.put(key, elements);
+                }
+                elements.add(element);
+            }
+        }
+
+        @Override
+        List<TInner> get(TKey key) {
+            List<TInner> elements = key == null ? null : map.get(key);
+            return elements == null ? Collections.<TInner>emptyList() : elements;
+        }
+    }
+
+    /**
+     * Keys that can only be compared for equality cannot be hashed, so every lookup scans all keys.
+     */
+    private static class ScanTable<TKey, TInner> extends Table<TKey, TInner> {
+        private final List<TKey> keys = new ArrayList<>();
+        private final List<TInner> elements = new ArrayList<>();
+        private final EqualityComparator<TKey> comparator;
+
+        ScanTable(Iterable<TInner> inner, Selector<TInner, TKey> keySelector, EqualityComparator<TKey> comparator) {
+            this.comparator = comparator;
+            for (TInner element : inner) {
+                TKey key = keySelector.select(element);
+                if (key == null) continue;
+                keys.add(key);
+                elements.add(element);
+            }
+        }
+
+        @Override
+        List<TInner> get(TKey key) {
+            if (key == null) return Collections.emptyList();
+
+            List<TInner> matches = null;
+            for (int i = 0, size = keys.size(); i < size; i++) {
+                if (comparator.compare(key, keys.get(i))) {
+                    if (matches == null) matches = new ArrayList<>();
+                    matches.add(elements.get(i));
+                }
+            }
+            return matches == null ? Collections.<TInner>emptyList() : matches;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.zbra.androidlinq;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -34,6 +35,19 @@ public final class Linq {
         return new ListStream<>(list);
     }
 
+    /**
+     * Decorates the passed {@code collection} with a Stream. {@code count()}, {@code any()} and
+     * {@code contains()} are answered by the collection itself, so a {@link java.util.Set Set} is
+     * searched in O(1) or O(log n), and {@code distinct()} on a Set returns the stream as it is.
+     *
+     * @param collection a generic typed collection
+     * @param <T>        the generic type of the {@code collection}
+     * @return a new Stream object that decorates the passed {@code collection}
+     */
+    public static <T> Stream<T> stream(Collection<T> collection) {
+        return AbstractStream.wrap(collection);
+    }
+
     /**
      * Decorates the passed {@code iterable} with a Stream.
      *
@@ -42,7 +56,7 @@ public final class Linq {
      * @return a new Stream object that decorates the passed {@code iterable}
      */
     public static <T> Stream<T> stream(Iterable<T> iterable) {
-        return new IterableStream<>(iterable);
+        return AbstractStream.wrap(iterable);
     }
 
     /**
@@ -53,8 +67,21 @@ public final class Linq {
      * @param <TValue> the generic type for the {@code map} value
      * @return a new Stream object that decorates the passed {@code map} entry set
      * @see java.util.Map#entrySet()
+     * @see #mapStream(Map)
      */
     public static <TKey, TValue> Stream<Map.Entry<TKey, TValue>> stream(Map<TKey, TValue> map) {
         return new MapStream<>(map);
     }
+
+    /**
+     * Decorates the passed {@code map} with a MapStream, which can also query the map by key.
+     *
+     * @param map      a generic typed map.
+     * @param <TKey>   the generic type of the {@code map} key
+     * @param <TValue> the generic type for the {@code map} value
+     * @return a new MapStream object that decorates the passed {@code map}
+     */
+    public static <TKey, TValue> MapStream<TKey, TValue> mapStream(Map<TKey, TValue> map) {
+        return new MapStream<>(map);
+    }
 }
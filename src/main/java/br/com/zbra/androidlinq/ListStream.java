@@ -1,29 +1,54 @@
 package br.com.zbra.androidlinq;
 
+import br.com.zbra.androidlinq.delegate.Predicate;
+
 import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
 
 
-class ListStream<T> extends AbstractStream<T> {
+class ListStream<T> extends CollectionStream<T> {
 
     private List<T> source;
 
     ListStream(List<T> source) {
+        super(source);
         this.source = source;
     }
 
     @Override
-    public int count() {
-        return source.size();
+    protected int characteristics() {
+        return source instanceof RandomAccess ? SIZED | INDEXED : SIZED;
     }
 
     @Override
-    public Iterator<T> iterator() {
-        return source.iterator();
+    protected T get(int index) {
+        return source.get(index);
+    }
+
+    @Override
+    protected boolean forEachWhile(Predicate<T> action) {
+        if (source instanceof RandomAccess) {
+            for (int i = 0, size = source.size(); i < size; i++)
+                if (!action.apply(source.get(i)))
+                    return false;
+            return true;
+        }
+        return super.forEachWhile(action);
     }
 
     @Override
     protected Iterator<T> reverseIterator() {
         return new ReverseListIterator<>(source);
     }
+
+    @Override
+    public T last() {
+        return hasCharacteristics(INDEXED) ? super.last() : reverse().first();
+    }
+
+    @Override
+    public T lastOrDefault(T defaultValue) {
+        return hasCharacteristics(INDEXED) ? super.lastOrDefault(defaultValue) : reverse().firstOrDefault(defaultValue);
+    }
 }
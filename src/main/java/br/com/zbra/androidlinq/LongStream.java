@@ -0,0 +1,74 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.OperatorLong;
+import br.com.zbra.androidlinq.delegate.PredicateLong;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A sequence of primitive {@code long} values. Values are kept unboxed through every operation.
+ *
+ * @see br.com.zbra.androidlinq.Stream#selectLong(br.com.zbra.androidlinq.delegate.SelectorLong)
+ */
+public interface LongStream {
+    /**
+     * Filters a sequence of values based on a predicate.
+     *
+     * @param predicate A function to test each value for a condition.
+     * @return An LongStream that contains values from the input sequence that satisfy the condition.
+     */
+    LongStream where(PredicateLong predicate);
+
+    /**
+     * Projects each value of a sequence into a new value.
+     *
+     * @param operator A transform function to apply to each value.
+     * @return An LongStream whose values are the result of invoking the transform function on each value of source.
+     */
+    LongStream map(OperatorLong operator);
+
+    /**
+     * Computes the sum of the sequence.
+     *
+     * @return The sum of the values, or 0 if the sequence is empty.
+     */
+    long sum();
+
+    /**
+     * Returns the minimum value of the sequence.
+     *
+     * @return The minimum value.
+     * @throws NoSuchElementException if the sequence is empty.
+     */
+    long min();
+
+    /**
+     * Returns the maximum value of the sequence.
+     *
+     * @return The maximum value.
+     * @throws NoSuchElementException if the sequence is empty.
+     */
+    long max();
+
+    /**
+     * Computes the average of the sequence.
+     *
+     * @return The average of the values.
+     * @throws ArithmeticException if the sequence is empty.
+     */
+    long average();
+
+    /**
+     * Returns the number of values in a sequence.
+     *
+     * @return The number of values in the input sequence.
+     */
+    int count();
+
+    /**
+     * Creates an array from the sequence.
+     *
+     * @return An array that contains the values from the input sequence.
+     */
+    long[] toArray();
+}
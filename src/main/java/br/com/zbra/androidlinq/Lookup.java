@@ -0,0 +1,31 @@
+package br.com.zbra.androidlinq;
+
+/**
+ * An immutable index of TElements by TKey, built once by {@link Stream#toLookup(br.com.zbra.androidlinq.delegate.Selector)}
+ * and queried any number of times. Iterating a Lookup yields one {@link Grouping} per key, in the order the keys
+ * first appeared in the source; the elements of each Grouping keep their source order.
+ *
+ * @param <TKey>     type of the keys
+ * @param <TElement> type of the elements indexed by each key
+ * @see br.com.zbra.androidlinq.Stream#toLookup(br.com.zbra.androidlinq.delegate.Selector)
+ * @see br.com.zbra.androidlinq.Stream#toLookup(br.com.zbra.androidlinq.delegate.Selector, br.com.zbra.androidlinq.delegate.Selector)
+ */
+public interface Lookup<TKey, TElement> extends Iterable<Grouping<TKey, TElement>> {
+
+    /**
+     * @param key the key to look up, which may be {@code null}.
+     * @return a Stream of the elements indexed by {@code key}; an empty Stream if there are none.
+     */
+    Stream<TElement> get(TKey key);
+
+    /**
+     * @param key the key to look up, which may be {@code null}.
+     * @return {@code true} if at least one element is indexed by {@code key}; otherwise, {@code false}.
+     */
+    boolean contains(TKey key);
+
+    /**
+     * @return the number of distinct keys.
+     */
+    int count();
+}
@@ -1,29 +1,186 @@
 package br.com.zbra.androidlinq;
 
+import br.com.zbra.androidlinq.delegate.Predicate;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
-public class MapStream<K, V> extends AbstractStream<Map.Entry<K, V>> {
+/**
+ * A stream over the entries of a {@link Map}. Besides the {@link Stream} operators, it answers key
+ * queries with the map itself instead of scanning its entries: {@link #whereKey(Object)} and
+ * {@link #whereKeyIn(Set)} look keys up, and {@link #whereKeyBetween(Object, Object)} takes a range
+ * view of a {@link NavigableMap}, which also reverses through its descending map.
+ */
+public class MapStream<K, V> extends CollectionStream<Map.Entry<K, V>> {
 
-    private Map<K, V> map;
+    private final Map<K, V> map;
 
     public MapStream(Map<K, V> map) {
+        super(map.entrySet());
         this.map = map;
     }
 
+    /**
+     * Entries of a hash map are distinct; other maps may compare keys by a comparator or by identity.
+     */
     @Override
-    public int count() {
-        return map.size();
+    protected int characteristics() {
+        return map instanceof HashMap ? SIZED | DISTINCT | NONNULL : SIZED | NONNULL;
     }
 
     @Override
-    public Iterator<Map.Entry<K, V>> iterator() {
-        return map.entrySet().iterator();
+    protected Iterator<Map.Entry<K, V>> reverseIterator() {
+        if (map instanceof NavigableMap)
+            return ((NavigableMap<K, V>) map).descendingMap().entrySet().iterator();
+        return super.reverseIterator();
     }
 
-    @Override
-    protected Iterator<Map.Entry<K, V>> reverseIterator() {
-        return iterator();
+    /**
+     * Returns the entry of {@code key}, if the map has one, with a single lookup.
+     *
+     * @param key The key to look up.
+     * @return An Stream that contains the entry of the key, or no entry.
+     */
+    public Stream<Map.Entry<K, V>> whereKey(K key) {
+        return whereKeyIn(Collections.singleton(key));
+    }
+
+    /**
+     * Returns the entries of the given keys that are in the map, in the iteration order of {@code keys},
+     * with one lookup per key instead of a scan of the map.
+     *
+     * @param keys The keys to look up.
+     * @return An Stream that contains the entries of the keys found in the map.
+     */
+    public Stream<Map.Entry<K, V>> whereKeyIn(Set<K> keys) {
+        return new KeyLookupStream<>(map, keys);
+    }
+
+    /**
+     * Returns the entries whose keys are between {@code from} and {@code to}, both inclusive, in the order
+     * of the map. A {@link NavigableMap} answers this with a range view, in O(log n) plus the size of the
+     * range; other maps are scanned, comparing keys by their natural ordering. If {@code from} is greater
+     * than {@code to}, the stream is empty.
+     *
+     * @param from The lowest key to return.
+     * @param to   The highest key to return.
+     * @return An Stream that contains the entries of the keys in the range.
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<Map.Entry<K, V>> whereKeyBetween(final K from, final K to) {
+        if (map instanceof NavigableMap) {
+            NavigableMap<K, V> navigableMap = (NavigableMap<K, V>) map;
+            Comparator<? super K> comparator = navigableMap.comparator();
+            int order = comparator != null ? comparator.compare(from, to) : ((Comparable<K>) from).compareTo(to);
+            // subMap rejects an inverted range
+            if (order > 0) return new MapStream<>(Collections.<K, V>emptyMap());
+            return new MapStream<>(navigableMap.subMap(from, true, to, true));
+        }
+
+        return where(new Predicate<Map.Entry<K, V>>() {
+            @Override
+            public boolean apply(Map.Entry<K, V> entry) {
+                Comparable<K> key = (Comparable<K>) entry.getKey();
+                return key.compareTo(from) >= 0 && key.compareTo(to) <= 0;
+            }
+        });
+    }
+
+    /**
+     * Returns the keys of the map. {@code contains()} is answered by the map's {@code containsKey()}.
+     *
+     * @return An Stream of type K over the key set of the map.
+     */
+    public Stream<K> keys() {
+        return new CollectionStream<>(map.keySet());
+    }
+
+    /**
+     * Returns the values of the map. {@code contains()} is answered by the map's {@code containsValue()}.
+     *
+     * @return An Stream of type V over the values of the map.
+     */
+    public Stream<V> values() {
+        return new CollectionStream<>(map.values());
     }
 
+    /**
+     * Entries of the keys found in a map, one lookup per key.
+     */
+    private static class KeyLookupStream<K, V> extends AbstractStream<Map.Entry<K, V>> {
+        private final Map<K, V> map;
+        private final Set<K> keys;
+
+        KeyLookupStream(Map<K, V> map, Set<K> keys) {
+            this.map = map;
+            this.keys = keys;
+        }
+
+        @Override
+        protected int characteristics() {
+            return DISTINCT | NONNULL;
+        }
+
+        @Override
+        protected int maxSize() {
+            return Math.min(keys.size(), map.size());
+        }
+
+        @Override
+        protected boolean forEachWhile(Predicate<Map.Entry<K, V>> action) {
+            for (K key : keys) {
+                V value = map.get(key);
+                if ((value != null || map.containsKey(key)) && !action.apply(new SimpleImmutableEntry<>(key, value)))
+                    return false;
+            }
+            return true;
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new KeyLookupIterator<>(map, keys.iterator());
+        }
+    }
+
+    private static class KeyLookupIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        private final Map<K, V> map;
+        private final Iterator<K> keys;
+        private Map.Entry<K, V> next;
+
+        KeyLookupIterator(Map<K, V> map, Iterator<K> keys) {
+            this.map = map;
+            this.keys = keys;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && keys.hasNext()) {
+                K key = keys.next();
+                V value = map.get(key);
+                if (value != null || map.containsKey(key))
+                    next = new SimpleImmutableEntry<>(key, value);
+            }
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Map.Entry<K, V> entry = next;
+            next = null;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+    }
 }
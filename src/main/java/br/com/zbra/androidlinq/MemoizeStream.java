@@ -0,0 +1,157 @@
+package br.com.zbra.androidlinq;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+class MemoizeStream<T> extends AbstractStream<T> {
+
+    private final AbstractStream<T> stream;
+
+    private Iterator<T> source;
+    private Object[] buffer = new Object[16];
+    private int size;
+    private boolean complete;
+
+    MemoizeStream(AbstractStream<T> stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Once the buffer is complete, its size is the size of this stream, whatever the source holds now.
+     */
+    @Override
+    protected int characteristics() {
+        int characteristics = stream.characteristics() & ~INDEXED;
+        return completeSize() >= 0 ? characteristics | SIZED : characteristics;
+    }
+
+    @Override
+    protected int exactSize() {
+        int size = completeSize();
+        return size >= 0 ? size : stream.exactSize();
+    }
+
+    @Override
+    protected int maxSize() {
+        int size = completeSize();
+        return size >= 0 ? size : stream.maxSize();
+    }
+
+    @Override
+    public int count() {
+        fill(Integer.MAX_VALUE);
+        return size;
+    }
+
+    @Override
+    public T elementAt(int index) {
+        if (index < 0 || !fill(index)) throw new IndexOutOfBoundsException("index: " + index);
+        return buffered(index);
+    }
+
+    @Override
+    public Stream<T> memoize() {
+        return this;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new MemoizeIterator<>(this);
+    }
+
+    @Override
+    protected Iterator<T> reverseIterator() {
+        fill(Integer.MAX_VALUE);
+        return new ReverseMemoizeIterator<>(this, size);
+    }
+
+    /**
+     * Pulls elements from the source until {@code index} is buffered or the source ends.
+     *
+     * @return whether an element exists at {@code index}.
+     */
+    private synchronized boolean fill(int index) {
+        if (index < size) return true;
+        if (complete) return false;
+
+        if (source == null)
+            source = stream.iterator();
+
+        while (size <= index && source.hasNext()) {
+            if (size == buffer.length)
+                buffer = Arrays.copyOf(buffer, size * 2);
+            buffer[size++] = source.next();
+        }
+
+        if (size <= index) {
+            complete = true;
+            source = null;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of buffered elements if the source has been read to its end; otherwise, -1.
+     */
+    private synchronized int completeSize() {
+        return complete ? size : -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized T buffered(int index) {
+        return (T) buffer[index];
+    }
+
+    private static class MemoizeIterator<T> implements Iterator<T> {
+        private final MemoizeStream<T> stream;
+        private int index;
+
+        MemoizeIterator(MemoizeStream<T> stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return stream.fill(index);
+        }
+
+        @Override
+        public T next() {
+            if (!stream.fill(index)) throw new NoSuchElementException();
+            return stream.buffered(index++);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+    }
+
+    private static class ReverseMemoizeIterator<T> implements Iterator<T> {
+        private final MemoizeStream<T> stream;
+        private int index;
+
+        ReverseMemoizeIterator(MemoizeStream<T> stream, int size) {
+            this.stream = stream;
+            this.index = size - 1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index >= 0;
+        }
+
+        @Override
+        public T next() {
+            if (index < 0) throw new NoSuchElementException();
+            return stream.buffered(index--);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+    }
+}
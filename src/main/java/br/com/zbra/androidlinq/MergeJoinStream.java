@@ -0,0 +1,116 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.Comparator;
+import br.com.zbra.androidlinq.delegate.JoinSelector;
+import br.com.zbra.androidlinq.delegate.Predicate;
+import br.com.zbra.androidlinq.delegate.Selector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Joins two sequences that are both sorted by their join key, advancing through them side by side.
+ * Only the run of inner elements that share the current key is buffered.
+ */
+class MergeJoinStream<TOuter, TInner, TKey, TResult> extends AbstractStream<TResult> {
+
+    private final AbstractStream<TOuter> outer;
+    private final Iterable<TInner> inner;
+    private final Selector<TOuter, TKey> outerKeySelector;
+    private final Selector<TInner, TKey> innerKeySelector;
+    private final Comparator<TKey> comparator;
+    private final JoinSelector<TOuter, TInner, TResult> resultSelector;
+
+    MergeJoinStream(AbstractStream<TOuter> outer,
+                    Iterable<TInner> inner,
+                    Selector<TOuter, TKey> outerKeySelector,
+                    Selector<TInner, TKey> innerKeySelector,
+                    Comparator<TKey> comparator,
+                    JoinSelector<TOuter, TInner, TResult> resultSelector) {
+        this.outer = outer;
+        this.inner = inner;
+        this.outerKeySelector = outerKeySelector;
+        this.innerKeySelector = innerKeySelector;
+        this.comparator = comparator;
+        this.resultSelector = resultSelector;
+    }
+
+    @Override
+    protected boolean forEachWhile(Predicate<TResult> action) {
+        return matches().forEachWhile(action);
+    }
+
+    @Override
+    public Iterator<TResult> iterator() {
+        return matches().iterator();
+    }
+
+    /**
+     * Matching has to walk both sides forwards, so the result is buffered and read backwards.
+     */
+    @Override
+    protected Iterator<TResult> reverseIterator() {
+        return new ReverseListIterator<>(toList());
+    }
+
+    private SelectManyStream<TOuter, TResult> matches() {
+        return new SelectManyStream<>(outer, new Matcher(inner.iterator()));
+    }
+
+    /**
+     * Called once per outer element, in order. Skips inner elements with smaller keys and keeps the
+     * run of inner elements equal to the current key, so consecutive outer elements with the same
+     * key share it.
+     */
+    private class Matcher implements Selector<TOuter, Iterable<TResult>> {
+        private final Iterator<TInner> innerIterator;
+        private final List<TInner> run = new ArrayList<>();
+        private TKey runKey;
+
+        private boolean hasLookahead;
+        private TInner lookahead;
+        private TKey lookaheadKey;
+
+        Matcher(Iterator<TInner> innerIterator) {
+            this.innerIterator = innerIterator;
+            advance();
+        }
+
+        @Override
+        public Iterable<TResult> select(TOuter outerElement) {
+            TKey key = outerKeySelector.select(outerElement);
+            if (key == null) return Collections.emptyList();
+
+            if (runKey == null || comparator.compare(runKey, key) != 0) {
+                run.clear();
+                runKey = key;
+                while (hasLookahead) {
+                    int compare = lookaheadKey == null ? -1 : comparator.compare(lookaheadKey, key);
+                    if (compare > 0) break;
+                    if (compare == 0) run.add(lookahead);
+                    advance();
+                }
+            }
+
+            if (run.isEmpty()) return Collections.emptyList();
+
+            List<TResult> results = new ArrayList<>(run.size());
+            for (TInner innerElement : run)
+                results.add(resultSelector.select(outerElement, innerElement));
+            return results;
+        }
+
+        private void advance() {
+            hasLookahead = innerIterator.hasNext();
+            if (hasLookahead) {
+                lookahead = innerIterator.next();
+                lookaheadKey = innerKeySelector.select(lookahead);
+            } else {
+                lookahead = null;
+                lookaheadKey = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.zbra.androidlinq;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Merges sequences that are each ordered by the same {@link SortKey}s into a single ordered
+ * sequence, holding only the head element of every sequence at a time.
+ */
+class MergeStream<T> extends AbstractStream<T> {
+
+    private final List<? extends Iterable<T>> sources;
+    private final List<SortKey<T>> sortKeys;
+
+    MergeStream(List<? extends Iterable<T>> sources, List<SortKey<T>> sortKeys) {
+        this.sources = sources;
+        this.sortKeys = sortKeys;
+    }
+
+    @Override
+    public int count() {
+        int count = 0;
+        for (Iterable<T> source : sources)
+            count += wrap(source).count();
+        return count;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        List<Iterator<T>> iterators = new ArrayList<>(sources.size());
+        for (Iterable<T> source : sources)
+            iterators.add(source.iterator());
+        return new MergeIterator<>(iterators, sortKeys, false);
+    }
+
+    /**
+     * Merges the sources backwards; ties come out in the exact mirror of the forward order.
+     */
+    @Override
+    protected Iterator<T> reverseIterator() {
+        List<Iterator<T>> iterators = new ArrayList<>(sources.size());
+        for (Iterable<T> source : sources)
+            iterators.add(wrap(source).reverseIterator());
+        return new MergeIterator<>(iterators, sortKeys, true);
+    }
+
+    /**
+     * A binary min-heap of the head of every non-exhausted source. Heads carry their keys, so each
+     * key is selected once per element. Ties go to the source that comes first.
+     */
+    private static class MergeIterator<T> implements Iterator<T> {
+        private final List<SortKey<T>> sortKeys;
+        private final boolean reverse;
+        private final Head<T>[] heap;
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        MergeIterator(List<Iterator<T>> iterators, List<SortKey<T>> sortKeys, boolean reverse) {
+            this.sortKeys = sortKeys;
+            this.reverse = reverse;
+            this.heap = (Head<T>[]) new Head<?>[iterators.size()];
+
+            for (int i = 0; i < iterators.size(); i++) {
+                Iterator<T> iterator = iterators.get(i);
+                if (iterator.hasNext()) {
+                    Head<T> head = new Head<>(iterator, i);
+                    head.advance(sortKeys);
+                    heap[size++] = head;
+                }
+            }
+            for (int i = size / 2 - 1; i >= 0; i--)
+                siftDown(i);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return size > 0;
+        }
+
+        @Override
+        public T next() {
+            if (size == 0) throw new NoSuchElementException();
+
+            Head<T> head = heap[0];
+            T next = head.element;
+            if (head.iterator.hasNext()) {
+                head.advance(sortKeys);
+            } else {
+                heap[0] = heap[--size];
+                heap[size] = null;
+            }
+            siftDown(0);
+            return next;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) return;
+                if (child + 1 < size && compare(heap[child + 1], heap[child]) < 0)
+                    child++;
+                if (compare(heap[index], heap[child]) <= 0) return;
+
+                Head<T> head = heap[index];
+                heap[index] = heap[child];
+                heap[child] = head;
+                index = child;
+            }
+        }
+
+        private int compare(Head<T> head1, Head<T> head2) {
+            int compare = SortKey.compare(sortKeys, head1.keys, head2.keys);
+            if (compare == 0)
+                compare = head1.source < head2.source ? -1 : (head1.source == head2.source ? 0 : 1);
+            return reverse ? -compare : compare;
+        }
+    }
+
+    private static class Head<T> {
+        private final Iterator<T> iterator;
+        private final int source;
+        private T element;
+        private Object[] keys;
+
+        Head(Iterator<T> iterator, int source) {
+            this.iterator = iterator;
+            this.source = source;
+        }
+
+        void advance(List<SortKey<T>> sortKeys) {
+            element = iterator.next();
+            keys = SortKey.keys(sortKeys, element);
+        }
+    }
+}
@@ -1,115 +1,387 @@
 package br.com.zbra.androidlinq;
 
 import br.com.zbra.androidlinq.delegate.Comparator;
+import br.com.zbra.androidlinq.delegate.JoinSelector;
+import br.com.zbra.androidlinq.delegate.Predicate;
 import br.com.zbra.androidlinq.delegate.Selector;
+import br.com.zbra.androidlinq.delegate.SelectorInteger;
+import br.com.zbra.androidlinq.delegate.SelectorLong;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
 
 class OrderByStream<T> extends AbstractStream<T> implements OrderedStream<T> {
 
-    private final Stream<T> stream;
-    private final QueuedComparators<T> queuedComparators;
+    private final AbstractStream<T> stream;
+    private final List<SortKey<T>> sortKeys;
 
-    static <T, TComparable> OrderedStream<T> createAscending(Stream<T> stream, Selector<T, TComparable> selector, Comparator<TComparable> comparator) {
+    /**
+     * Granularity of parallel sorting when none is given, as in {@code java.util.Arrays.parallelSort}.
+     */
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 13;
+
+    private boolean cached;
+    private Object[] elements;
+    private ArrayStream<T> sortedStream;
+    private ArrayStream<T> reverseSortedStream;
+
+    private ForkJoinPool pool;
+    private int threshold;
+
+    /**
+     * The source is trusted to be in order already and is never sorted.
+     */
+    private final boolean presorted;
+
+    static <T, TComparable> OrderedStream<T> createAscending(AbstractStream<T> stream, Selector<T, TComparable> selector, Comparator<TComparable> comparator) {
         OrderByStream<T> orderByStream = new OrderByStream<>(stream);
         orderByStream.thenBy(selector, comparator);
         return orderByStream;
     }
 
-    static <T, TComparable> OrderedStream<T> createDescending(Stream<T> stream, Selector<T, TComparable> selector, Comparator<TComparable> comparator) {
+    static <T, TComparable> OrderedStream<T> createDescending(AbstractStream<T> stream, Selector<T, TComparable> selector, Comparator<TComparable> comparator) {
         OrderByStream<T> orderByStream = new OrderByStream<>(stream);
         orderByStream.thenByDescending(selector, comparator);
         return orderByStream;
     }
 
-    private OrderByStream(Stream<T> stream) {
+    /**
+     * Declares that {@code stream} is already ordered by {@code keySelector}, without sorting it.
+     */
+    static <T, TComparable> OrderedStream<T> createPresorted(AbstractStream<T> stream, Selector<T, TComparable> selector, Comparator<TComparable> comparator, boolean descending) {
+        OrderByStream<T> orderByStream = new OrderByStream<>(stream, new ArrayList<SortKey<T>>(), true);
+        return descending
+                ? orderByStream.thenByDescending(selector, comparator)
+                : orderByStream.thenBy(selector, comparator);
+    }
+
+    private OrderByStream(AbstractStream<T> stream) {
+        this(stream, new ArrayList<SortKey<T>>(), false);
+    }
+
+    private OrderByStream(AbstractStream<T> stream, List<SortKey<T>> sortKeys, boolean presorted) {
         this.stream = stream;
-        this.queuedComparators = new QueuedComparators<>();
+        this.sortKeys = sortKeys;
+        this.presorted = presorted;
     }
 
     @Override
     public int count() {
-        return stream.count();
+        return cached ? sortedStream().count() : stream.count();
+    }
+
+    @Override
+    protected int characteristics() {
+        return presorted
+                ? stream.characteristics() | SORTED
+                : stream.characteristics() & ~INDEXED | SORTED;
+    }
+
+    @Override
+    protected int exactSize() {
+        return stream.exactSize();
+    }
+
+    @Override
+    protected int maxSize() {
+        return stream.maxSize();
+    }
+
+    @Override
+    protected T get(int index) {
+        return stream.get(index);
+    }
+
+    @Override
+    public boolean contains(T element) {
+        return stream.contains(element);
     }
 
     @Override
     public Iterator<T> iterator() {
-        return getIterator(queuedComparators);
+        if (cached) return sortedStream().iterator();
+        return presorted ? stream.iterator() : getIterator(false);
     }
 
     @Override
     protected Iterator<T> reverseIterator() {
-        return getIterator(Collections.reverseOrder(queuedComparators));
+        if (cached) return presorted ? sortedStream().reverseIterator() : reverseSortedStream().iterator();
+        return presorted ? stream.reverseIterator() : getIterator(true);
     }
 
-    private Iterator<T> getIterator(java.util.Comparator<T> comparator) {
-        List<T> list = stream.toList();
-        Collections.sort(list, comparator);
-        return list.iterator();
+    @Override
+    protected boolean forEachWhile(Predicate<T> action) {
+        return presorted && !cached ? stream.forEachWhile(action) : super.forEachWhile(action);
     }
 
     @Override
-    public <TKey> OrderedStream<T> thenBy(final Selector<T, TKey> keySelector, final Comparator<TKey> comparator) {
-        this.queuedComparators.addComparator(new java.util.Comparator<T>() {
-            @Override
-            public int compare(T t1, T t2) {
-                return comparator.compare(keySelector.select(t1), keySelector.select(t2));
-            }
-        });
+    public T last() {
+        return reverse().first();
+    }
+
+    @Override
+    public T lastOrDefault(T defaultValue) {
+        return reverse().firstOrDefault(defaultValue);
+    }
+
+    @Override
+    public T elementAt(int index) {
+        return cached ? sortedStream().elementAt(index) : super.elementAt(index);
+    }
+
+    @Override
+    public List<T> toList() {
+        if (cached) return sortedStream().toList();
+        return presorted ? stream.toList() : new ArrayList<>(Arrays.asList(sort()));
+    }
+
+    @Override
+    public OrderedStream<T> merge(Iterable<T> other) {
+        return mergeAll(Collections.singletonList(other));
+    }
+
+    @Override
+    public OrderedStream<T> mergeAll(Iterable<? extends Iterable<T>> others) {
+        List<Iterable<T>> sources = new ArrayList<>();
+        sources.add(this);
+        for (Iterable<T> other : others)
+            sources.add(other);
+        List<SortKey<T>> keys = new ArrayList<>(sortKeys);
+        return new OrderByStream<>(new MergeStream<>(sources, keys), new ArrayList<>(keys), true);
+    }
+
+    @Override
+    public <TInner, TKey, TResult> Stream<TResult> mergeJoin(Iterable<TInner> inner, Selector<T, TKey> outerKeySelector, Selector<TInner, TKey> innerKeySelector, Comparator<TKey> comparator, JoinSelector<T, TInner, TResult> resultSelector) {
+        return new MergeJoinStream<>(this, inner, outerKeySelector, innerKeySelector, comparator, resultSelector);
+    }
+
+    @Override
+    public <TInner, TKey extends Comparable<TKey>, TResult> Stream<TResult> mergeJoin(Iterable<TInner> inner, Selector<T, TKey> outerKeySelector, Selector<TInner, TKey> innerKeySelector, JoinSelector<T, TInner, TResult> resultSelector) {
+        return mergeJoin(inner, outerKeySelector, innerKeySelector, SortKey.<TKey>naturalOrder(), resultSelector);
+    }
+
+    @Override
+    public OrderedStream<T> cache() {
+        cached = true;
         return this;
     }
 
     @Override
-    public <TKey extends Comparable<TKey>> OrderedStream<T> thenBy(Selector<T, TKey> keySelector) {
-        thenBy(keySelector, new Comparator<TKey>() {
-            @Override
-            public int compare(TKey tKey, TKey o) {
-                return tKey.compareTo(o);
-            }
-        });
+    public void invalidate() {
+        elements = null;
+        sortedStream = null;
+        reverseSortedStream = null;
+    }
+
+    @Override
+    public OrderedStream<T> parallelSort() {
+        return parallelSort(ParallelStream.defaultPool(), PARALLEL_SORT_THRESHOLD);
+    }
+
+    @Override
+    public OrderedStream<T> parallelSort(ForkJoinPool pool, int threshold) {
+        if (pool == null) throw new NullPointerException("pool");
+        if (threshold <= 0) throw new IllegalArgumentException("threshold must be greater than 0: " + threshold);
+        OrderByStream<T> orderByStream = new OrderByStream<>(stream, new ArrayList<>(sortKeys), presorted);
+        orderByStream.cached = cached;
+        orderByStream.pool = pool;
+        orderByStream.threshold = threshold;
+        return orderByStream;
+    }
+
+    private ArrayStream<T> sortedStream() {
+        if (sortedStream == null)
+            sortedStream = new ArrayStream<>(sort(elements(), false));
+        return sortedStream;
+    }
+
+    /**
+     * Sorted by the inverted ordering from the same buffered elements, on first reverse use, so a cached
+     * reverse keeps tied elements in source order just like an uncached one.
+     */
+    private ArrayStream<T> reverseSortedStream() {
+        if (reverseSortedStream == null)
+            reverseSortedStream = new ArrayStream<>(sort(elements(), true));
+        return reverseSortedStream;
+    }
+
+    private Object[] elements() {
+        if (elements == null)
+            elements = stream.toList().toArray();
+        return elements;
+    }
+
+    private T[] sort() {
+        return sort(stream.toList().toArray(), false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T[] sort(Object[] elements, boolean reverse) {
+        if (presorted) return (T[]) elements;
+        int[] indexes = SortKey.sort(sortKeys, elements, pool, threshold, reverse);
+
+        Object[] sorted = new Object[elements.length];
+        for (int i = 0; i < indexes.length; i++)
+            sorted[i] = elements[indexes[i]];
+        return (T[]) sorted;
+    }
+
+    /**
+     * Reverse iteration sorts by the inverted ordering, so tied elements keep their source order
+     * both ways.
+     */
+    private Iterator<T> getIterator(boolean reverse) {
+        Object[] elements = stream.toList().toArray();
+        if (isIntegral() || pool != null && elements.length > threshold)
+            return new IndexIterator<>(elements, SortKey.sort(sortKeys, elements, pool, threshold, reverse));
+
+        return new LazySortIterator<>(elements, SortKey.bind(sortKeys, elements, reverse));
+    }
+
+    /**
+     * Radix sorting integral keys is linear already, so it is preferred over lazy sorting.
+     * So is a parallel sort of an input that is large enough to be split.
+     */
+    private boolean isIntegral() {
+        for (SortKey<T> sortKey : sortKeys)
+            if (!sortKey.isIntegral())
+                return false;
+        return true;
+    }
+
+    @Override
+    public <TKey> OrderedStream<T> thenBy(Selector<T, TKey> keySelector, Comparator<TKey> comparator) {
+        sortKeys.add(SortKey.create(keySelector, comparator, false));
+        invalidate();
         return this;
     }
 
     @Override
-    public <TKey> OrderedStream<T> thenByDescending(final Selector<T, TKey> keySelector, final Comparator<TKey> comparator) {
-        this.queuedComparators.addComparator(new java.util.Comparator<T>() {
-            @Override
-            public int compare(T t1, T t2) {
-                return comparator.compare(keySelector.select(t1), keySelector.select(t2)) * -1;
-            }
-        });
+    public <TKey extends Comparable<TKey>> OrderedStream<T> thenBy(Selector<T, TKey> keySelector) {
+        return thenBy(keySelector, SortKey.<TKey>naturalOrder());
+    }
+
+    @Override
+    public <TKey> OrderedStream<T> thenByDescending(Selector<T, TKey> keySelector, Comparator<TKey> comparator) {
+        sortKeys.add(SortKey.create(keySelector, comparator, true));
+        invalidate();
         return this;
     }
 
     @Override
     public <TKey extends Comparable<TKey>> OrderedStream<T> thenByDescending(Selector<T, TKey> keySelector) {
-        thenByDescending(keySelector, new Comparator<TKey>() {
-            @Override
-            public int compare(TKey tKey, TKey o) {
-                return tKey.compareTo(o);
-            }
-        });
-        return this;
+        return thenByDescending(keySelector, SortKey.<TKey>naturalOrder());
     }
 
-    private static class QueuedComparators<T> implements java.util.Comparator<T> {
-        private List<java.util.Comparator<T>> comparators = new ArrayList<>();
+    @Override
+    public OrderedStream<T> thenByInt(SelectorInteger<T> keySelector) {
+        return thenBy(keySelector, SortKey.<Integer>naturalOrder());
+    }
+
+    @Override
+    public OrderedStream<T> thenByLong(SelectorLong<T> keySelector) {
+        return thenBy(keySelector, SortKey.<Long>naturalOrder());
+    }
+
+    @Override
+    public OrderedStream<T> thenByDescendingInt(SelectorInteger<T> keySelector) {
+        return thenByDescending(keySelector, SortKey.<Integer>naturalOrder());
+    }
+
+    @Override
+    public OrderedStream<T> thenByDescendingLong(SelectorLong<T> keySelector) {
+        return thenByDescending(keySelector, SortKey.<Long>naturalOrder());
+    }
+
+    private static class IndexIterator<T> implements Iterator<T> {
+        private final Object[] elements;
+        private final int[] indexes;
+        private int position;
+
+        IndexIterator(Object[] elements, int[] indexes) {
+            this.elements = elements;
+            this.indexes = indexes;
+        }
 
         @Override
-        public int compare(T o1, T o2) {
-            int size = comparators.size();
-            int compare = 0;
-            for (int i = 0; i < size && compare == 0; i++) {
-                compare = comparators.get(i).compare(o1, o2);
-            }
-            return compare;
+        public boolean hasNext() {
+            return position < indexes.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (position == indexes.length) throw new NoSuchElementException();
+            return (T) elements[indexes[position++]];
         }
 
-        public void addComparator(java.util.Comparator<T> comparator) {
-            comparators.add(comparator);
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+    }
+
+    /**
+     * Yields elements in sorted order using a binary heap over their indexes, so the first k elements
+     * cost O(n + k log n) instead of a full sort. The comparator breaks ties by index, which keeps the
+     * same order a stable sort would produce.
+     */
+    private static class LazySortIterator<T> implements Iterator<T> {
+        private final Object[] elements;
+        private final IndexComparator comparator;
+        private final int[] heap;
+        private int size;
+
+        LazySortIterator(Object[] elements, IndexComparator comparator) {
+            this.elements = elements;
+            this.comparator = comparator;
+            this.size = elements.length;
+            this.heap = new int[size];
+            for (int i = 0; i < size; i++)
+                heap[i] = i;
+            for (int i = size / 2 - 1; i >= 0; i--)
+                siftDown(i);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return size > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (size == 0) throw new NoSuchElementException();
+            T next = (T) elements[heap[0]];
+            heap[0] = heap[--size];
+            siftDown(0);
+            return next;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+
+        private void siftDown(int position) {
+            int index = heap[position];
+            int half = size >>> 1;
+            while (position < half) {
+                int child = 2 * position + 1;
+                int right = child + 1;
+                if (right < size && comparator.compare(heap[right], heap[child]) < 0)
+                    child = right;
+                if (comparator.compare(heap[child], index) >= 0)
+                    break;
+                heap[position] = heap[child];
+                position = child;
+            }
+            heap[position] = index;
         }
     }
 }
@@ -1,7 +1,12 @@
 package br.com.zbra.androidlinq;
 
 import br.com.zbra.androidlinq.delegate.Comparator;
+import br.com.zbra.androidlinq.delegate.JoinSelector;
 import br.com.zbra.androidlinq.delegate.Selector;
+import br.com.zbra.androidlinq.delegate.SelectorInteger;
+import br.com.zbra.androidlinq.delegate.SelectorLong;
+
+import java.util.concurrent.ForkJoinPool;
 
 public interface OrderedStream<T> extends Stream<T> {
 
@@ -43,4 +48,140 @@ public interface OrderedStream<T> extends Stream<T> {
      */
     <TKey extends Comparable<TKey>> OrderedStream<T> thenByDescending(Selector<T, TKey> keySelector);
 
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in ascending order according to an {@code int} key.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @return An Stream of type T whose elements are sorted according to a key.
+     * @see Stream#orderByInt(SelectorInteger)
+     */
+    OrderedStream<T> thenByInt(SelectorInteger<T> keySelector);
+
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in ascending order according to a {@code long} key.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @return An Stream of type T whose elements are sorted according to a key.
+     * @see Stream#orderByInt(SelectorInteger)
+     */
+    OrderedStream<T> thenByLong(SelectorLong<T> keySelector);
+
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in descending order according to an {@code int} key.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @return An Stream of type T whose elements are sorted according to a key.
+     * @see Stream#orderByInt(SelectorInteger)
+     */
+    OrderedStream<T> thenByDescendingInt(SelectorInteger<T> keySelector);
+
+    /**
+     * Performs a subsequent ordering of the elements in a sequence in descending order according to a {@code long} key.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @return An Stream of type T whose elements are sorted according to a key.
+     * @see Stream#orderByInt(SelectorInteger)
+     */
+    OrderedStream<T> thenByDescendingLong(SelectorLong<T> keySelector);
+
+    /**
+     * Keeps the sorted elements the first time they are needed. Later iterations, reverse iteration,
+     * {@link #elementAt(int)}, first and last are then served from them without reading or sorting
+     * the source again, until {@link #invalidate()} is called. The buffered elements are sorted by the
+     * inverted ordering the first time they are iterated in reverse, so results are the same as without
+     * caching.
+     *
+     * @return This OrderedStream, with caching enabled.
+     */
+    OrderedStream<T> cache();
+
+    /**
+     * Discards the sorted elements kept by {@link #cache()}, so the next use reads and sorts the source again.
+     * Has no effect if caching is not enabled.
+     */
+    void invalidate();
+
+    /**
+     * Merges this sequence with another sequence that is ordered the same way, keeping the order. Only the
+     * next element of each sequence is held at a time, and ties keep the elements of this sequence first.
+     * The other sequence is not sorted: use {@link Stream#asOrderedBy(Selector)} or orderBy to declare or
+     * establish its order. The result is undefined if it is not ordered by the keys of this stream.
+     *
+     * @param other A sequence ordered by the same keys as this one.
+     * @return An OrderedStream of type T with the elements of both sequences, ordered by the keys of this one.
+     */
+    OrderedStream<T> merge(Iterable<T> other);
+
+    /**
+     * Merges this sequence with other sequences that are ordered the same way, keeping the order, through a
+     * k-way heap merge: each element costs O(log k) key comparisons and only the next element of each sequence
+     * is held at a time. Ties keep the elements of earlier sequences first, starting with this one.
+     *
+     * @param others Sequences ordered by the same keys as this one.
+     * @return An OrderedStream of type T with the elements of every sequence, ordered by the keys of this one.
+     * @see #merge(Iterable)
+     */
+    OrderedStream<T> mergeAll(Iterable<? extends Iterable<T>> others);
+
+    /**
+     * Correlates the elements of this sequence with those of a second sequence by walking both in key order,
+     * without building a hash table. Both sequences must be sorted in ascending order of their join key
+     * according to {@code comparator}; only the run of inner elements that share the current key is buffered.
+     * Results come in the order of this sequence, then of the matching inner elements. Elements whose key is
+     * {@code null} are not matched.
+     *
+     * @param inner            A sequence sorted by innerKeySelector.
+     * @param outerKeySelector A function to extract the join key from each element of this sequence.
+     * @param innerKeySelector A function to extract the join key from each element of the inner sequence.
+     * @param comparator       An Comparator that orders the keys of both sequences.
+     * @param resultSelector   A function to create a result element from two matching elements.
+     * @param <TInner>         The type of the elements of the inner sequence.
+     * @param <TKey>           The type of the keys returned by the key selector functions.
+     * @param <TResult>        The type of the result elements.
+     * @return An Stream of type TResult that has elements obtained by performing an inner join on two sequences.
+     */
+    <TInner, TKey, TResult> Stream<TResult> mergeJoin(Iterable<TInner> inner, Selector<T, TKey> outerKeySelector, Selector<TInner, TKey> innerKeySelector, Comparator<TKey> comparator, JoinSelector<T, TInner, TResult> resultSelector);
+
+    /**
+     * Correlates the elements of this sequence with those of a second sequence by walking both in the natural
+     * order of their join keys.
+     *
+     * @param inner            A sequence sorted by innerKeySelector.
+     * @param outerKeySelector A function to extract the join key from each element of this sequence.
+     * @param innerKeySelector A function to extract the join key from each element of the inner sequence.
+     * @param resultSelector   A function to create a result element from two matching elements.
+     * @param <TInner>         The type of the elements of the inner sequence.
+     * @param <TKey>           The type of the keys returned by the key selector functions.
+     * @param <TResult>        The type of the result elements.
+     * @return An Stream of type TResult that has elements obtained by performing an inner join on two sequences.
+     * @see #mergeJoin(Iterable, Selector, Selector, Comparator, JoinSelector)
+     */
+    <TInner, TKey extends Comparable<TKey>, TResult> Stream<TResult> mergeJoin(Iterable<TInner> inner, Selector<T, TKey> outerKeySelector, Selector<TInner, TKey> innerKeySelector, JoinSelector<T, TInner, TResult> resultSelector);
+
+    /**
+     * Returns an OrderedStream with the same ordering that sorts with a parallel merge sort on a shared
+     * {@link ForkJoinPool}, falling back to sequential sorting below 8192 elements. This stream is left
+     * unchanged. To evaluate the operations before or after the sort in parallel too, use
+     * {@link #parallel()}.
+     *
+     * @return An OrderedStream of type T that sorts in parallel.
+     * @see #parallelSort(ForkJoinPool, int)
+     */
+    OrderedStream<T> parallelSort();
+
+    /**
+     * Returns an OrderedStream with the same ordering that sorts with a parallel merge sort on
+     * {@code pool}. Ranges of at most {@code threshold} elements are sorted sequentially, so inputs
+     * smaller than that never leave the calling thread. Sort keys are still selected once per element,
+     * on the calling thread, before any comparison runs; comparators passed to orderBy/thenBy may be
+     * called from several threads. Sorting stays stable, and operations after the sort read the sorted
+     * elements sequentially. Integral keys are radix sorted sequentially, which is already linear. This
+     * stream is left unchanged.
+     *
+     * @param pool      The pool that runs the sort.
+     * @param threshold The largest range that is sorted sequentially.
+     * @return An OrderedStream of type T that sorts in parallel.
+     * @throws IllegalArgumentException if threshold is not greater than 0.
+     */
+    OrderedStream<T> parallelSort(ForkJoinPool pool, int threshold);
 }
@@ -0,0 +1,528 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.Aggregator;
+import br.com.zbra.androidlinq.delegate.Comparator;
+import br.com.zbra.androidlinq.delegate.Predicate;
+import br.com.zbra.androidlinq.delegate.Selector;
+import br.com.zbra.androidlinq.delegate.SelectorDouble;
+import br.com.zbra.androidlinq.delegate.SelectorInteger;
+import br.com.zbra.androidlinq.delegate.SelectorLong;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs a chain of where/select/selectMany stages over chunks of an indexed source on a
+ * {@link ForkJoinPool}. Each chunk pushes its elements through its own copy of the chain, so
+ * stateful stages never share state across threads, and terminal operations merge the chunk
+ * results in encounter order.
+ *
+ * @param <S> type of the source elements
+ * @param <T> type of the elements coming out of the chain
+ */
+class ParallelStream<S, T> extends AbstractStream<T> {
+
+    /**
+     * Minimum chunk size when the threshold is chosen automatically; smaller chunks cost more
+     * to schedule than to run.
+     */
+    private static final int MIN_CHUNK = 1024;
+
+    private final AbstractStream<S> source;
+    private final Pipeline<S, T> pipeline;
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    static <T> ParallelStream<T, T> create(AbstractStream<T> source, ForkJoinPool pool, int threshold) {
+        return new ParallelStream<>(source, new Pipeline<T, T>() {
+            @Override
+            Predicate<T> sink(Predicate<T> downstream) {
+                return downstream;
+            }
+        }, pool, threshold);
+    }
+
+    private ParallelStream(AbstractStream<S> source, Pipeline<S, T> pipeline, ForkJoinPool pool, int threshold) {
+        this.source = source;
+        this.pipeline = pipeline;
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public Stream<T> parallel() {
+        return this;
+    }
+
+    @Override
+    public Stream<T> parallel(ForkJoinPool pool, int threshold) {
+        if (pool == null) throw new NullPointerException("pool");
+        if (threshold <= 0) throw new IllegalArgumentException("threshold must be greater than 0: " + threshold);
+        return new ParallelStream<>(source, pipeline, pool, threshold);
+    }
+
+    /**
+     * The sort runs in parallel too, with the same pool and threshold.
+     */
+    @Override
+    public <R> OrderedStream<T> orderBy(Selector<T, R> keySelector, Comparator<R> comparator) {
+        return parallelSort(super.orderBy(keySelector, comparator));
+    }
+
+    @Override
+    public <R> OrderedStream<T> orderByDescending(Selector<T, R> keySelector, Comparator<R> comparator) {
+        return parallelSort(super.orderByDescending(keySelector, comparator));
+    }
+
+    private OrderedStream<T> parallelSort(OrderedStream<T> orderedStream) {
+        return pool == null ? orderedStream.parallelSort() : orderedStream.parallelSort(pool, threshold);
+    }
+
+    @Override
+    public Stream<T> where(final Predicate<T> predicate) {
+        return then(new Pipeline<T, T>() {
+            @Override
+            Predicate<T> sink(final Predicate<T> downstream) {
+                return new Predicate<T>() {
+                    @Override
+                    public boolean apply(T value) {
+                        return !predicate.apply(value) || downstream.apply(value);
+                    }
+                };
+            }
+        });
+    }
+
+    @Override
+    public <R> Stream<R> select(final Selector<T, R> selector) {
+        return then(new Pipeline<T, R>() {
+            @Override
+            Predicate<T> sink(final Predicate<R> downstream) {
+                return new Predicate<T>() {
+                    @Override
+                    public boolean apply(T value) {
+                        return downstream.apply(selector.select(value));
+                    }
+                };
+            }
+        });
+    }
+
+    @Override
+    public <R> Stream<R> selectMany(final Selector<T, Iterable<R>> selector) {
+        return then(new Pipeline<T, R>() {
+            @Override
+            Predicate<T> sink(final Predicate<R> downstream) {
+                return new Predicate<T>() {
+                    @Override
+                    public boolean apply(T value) {
+                        for (R selected : selector.select(value))
+                            if (!downstream.apply(selected))
+                                return false;
+                        return true;
+                    }
+                };
+            }
+        });
+    }
+
+    /**
+     * Runs the chain sequentially on the calling thread; short-circuiting operations such as
+     * first() or take() go through here.
+     */
+    @Override
+    protected boolean forEachWhile(Predicate<T> action) {
+        AbstractStream<S> indexed = indexed();
+        return new Chunk(indexed, 0, indexed.exactSize()).forEachWhile(action);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return toList().iterator();
+    }
+
+    @Override
+    public int count() {
+        int count = 0;
+        for (Integer chunkCount : evaluate(new Selector<Stream<T>, Integer>() {
+            @Override
+            public Integer select(Stream<T> chunk) {
+                return chunk.count();
+            }
+        }))
+            count += chunkCount;
+        return count;
+    }
+
+    @Override
+    public <R> R aggregate(final R seed, final Aggregator<T, R> aggregator, Aggregator<R, R> combiner) {
+        Iterator<R> results = evaluate(new Selector<Stream<T>, R>() {
+            @Override
+            public R select(Stream<T> chunk) {
+                return chunk.aggregate(seed, aggregator);
+            }
+        }).iterator();
+
+        R result = results.next();
+        while (results.hasNext())
+            result = combiner.aggregate(result, results.next());
+        return result;
+    }
+
+    /**
+     * Chunks are summed in parallel, then their sums are added in encounter order.
+     */
+    @Override
+    public Integer sum(SelectorInteger<T> selector) {
+        return (int) accumulate(selector).longSum();
+    }
+
+    @Override
+    public Long sum(SelectorLong<T> selector) {
+        return accumulate(selector).longSum();
+    }
+
+    @Override
+    public Double sum(SelectorDouble<T> selector) {
+        return accumulate(selector).doubleSum();
+    }
+
+    @Override
+    Average accumulate(final Selector<T, ? extends Number> selector) {
+        Average average = new Average();
+        for (Average chunkAverage : evaluate(new Selector<Stream<T>, Average>() {
+            @Override
+            public Average select(Stream<T> chunk) {
+                return ((AbstractStream<T>) chunk).accumulate(selector);
+            }
+        }))
+            average.add(chunkAverage);
+        return average;
+    }
+
+    @Override
+    public List<T> toList() {
+        List<List<T>> results = evaluate(new Selector<Stream<T>, List<T>>() {
+            @Override
+            public List<T> select(Stream<T> chunk) {
+                return chunk.toList();
+            }
+        });
+
+        int size = 0;
+        for (List<T> result : results)
+            size += result.size();
+
+        List<T> list = new ArrayList<>(size);
+        for (List<T> result : results)
+            list.addAll(result);
+        return list;
+    }
+
+    @Override
+    public <TKey extends Comparable<TKey>> Map.Entry<TKey, T> minBy(Selector<T, TKey> keySelector) {
+        return extremeBy(keySelector, SortKey.<TKey>naturalOrder(), true);
+    }
+
+    @Override
+    public <TKey> Map.Entry<TKey, T> minBy(Selector<T, TKey> keySelector, Comparator<TKey> comparator) {
+        return extremeBy(keySelector, comparator, true);
+    }
+
+    @Override
+    public <TKey extends Comparable<TKey>> Map.Entry<TKey, T> maxBy(Selector<T, TKey> keySelector) {
+        return extremeBy(keySelector, SortKey.<TKey>naturalOrder(), false);
+    }
+
+    @Override
+    public <TKey> Map.Entry<TKey, T> maxBy(Selector<T, TKey> keySelector, Comparator<TKey> comparator) {
+        return extremeBy(keySelector, comparator, false);
+    }
+
+    /**
+     * Groups each chunk on its own, then appends the groups of later chunks to those of earlier
+     * ones, so keys and elements keep their encounter order.
+     */
+    @Override
+    public <K, E> Stream<Grouping<K, E>> groupBy(final Selector<T, K> keySelector, final Selector<T, E> elementSelector) {
+        return new IterableStream<>(new Iterable<Grouping<K, E>>() {
+            @Override
+            public Iterator<Grouping<K, E>> iterator() {
+                List<Map<K, GroupByStream.GroupingImpl<K, E>>> results = evaluate(new Selector<Stream<T>, Map<K, GroupByStream.GroupingImpl<K, E>>>() {
+                    @Override
+                    public Map<K, GroupByStream.GroupingImpl<K, E>> select(Stream<T> chunk) {
+                        final Map<K, GroupByStream.GroupingImpl<K, E>> groupings = new LinkedHashMap<>();
+                        ((AbstractStream<T>) chunk).forEachWhile(new Predicate<T>() {
+                            @Override
+                            public boolean apply(T value) {
+                                K key = keySelector.select(value);
+                                GroupByStream.GroupingImpl<K, E> grouping = groupings.get(key);
+                                if (grouping == null) {
+                                    grouping = new GroupByStream.GroupingImpl<>(key);
+                                    groupings.put(key, grouping);
+                                }
+                                grouping.source.add(elementSelector.select(value));
+                                return true;
+                            }
+                        });
+                        return groupings;
+                    }
+                });
+
+                Map<K, GroupByStream.GroupingImpl<K, E>> groupings = results.get(0);
+                for (int i = 1; i < results.size(); i++) {
+                    for (GroupByStream.GroupingImpl<K, E> grouping : results.get(i).values()) {
+                        GroupByStream.GroupingImpl<K, E> existing = groupings.get(grouping.getKey());
+                        if (existing == null)
+                            groupings.put(grouping.getKey(), grouping);
+                        else
+                            existing.source.addAll(grouping.source);
+                    }
+                }
+                return new ArrayList<Grouping<K, E>>(groupings.values()).iterator();
+            }
+        });
+    }
+
+    @Override
+    public <K, R> Map<K, R> groupAggregate(final Selector<T, K> keySelector, final R seed, final Aggregator<T, R> aggregator, Aggregator<R, R> combiner) {
+        return combine(evaluate(new Selector<Stream<T>, Map<K, R>>() {
+            @Override
+            public Map<K, R> select(Stream<T> chunk) {
+                return chunk.groupAggregate(keySelector, seed, aggregator);
+            }
+        }), combiner);
+    }
+
+    @Override
+    public <K> Map<K, Integer> countBy(final Selector<T, K> keySelector) {
+        return combine(evaluate(new Selector<Stream<T>, Map<K, Integer>>() {
+            @Override
+            public Map<K, Integer> select(Stream<T> chunk) {
+                return chunk.countBy(keySelector);
+            }
+        }), new Aggregator<Integer, Integer>() {
+            @Override
+            public Integer aggregate(Integer v, Integer w) {
+                return v + w;
+            }
+        });
+    }
+
+    @Override
+    public <K> Map<K, Long> sumBy(final Selector<T, K> keySelector, final SelectorLong<T> selector) {
+        return combine(evaluate(new Selector<Stream<T>, Map<K, Long>>() {
+            @Override
+            public Map<K, Long> select(Stream<T> chunk) {
+                return chunk.sumBy(keySelector, selector);
+            }
+        }), new Aggregator<Long, Long>() {
+            @Override
+            public Long aggregate(Long v, Long w) {
+                return v + w;
+            }
+        });
+    }
+
+    /**
+     * Merges the per-key results of each chunk into those of the first one, so keys keep their encounter order.
+     */
+    private static <K, R> Map<K, R> combine(List<Map<K, R>> results, Aggregator<R, R> combiner) {
+        Map<K, R> combined = results.get(0);
+        for (int i = 1; i < results.size(); i++) {
+            for (Map.Entry<K, R> entry : results.get(i).entrySet()) {
+                K key = entry.getKey();
+                combined.put(key, combined.containsKey(key)
+                        ? combiner.aggregate(combined.get(key), entry.getValue())
+                        : entry.getValue());
+            }
+        }
+        return combined;
+    }
+
+    @Override
+    public Stream<T> distinct() {
+        return new IterableStream<>(new Iterable<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                List<Set<T>> results = evaluate(new Selector<Stream<T>, Set<T>>() {
+                    @Override
+                    public Set<T> select(Stream<T> chunk) {
+                        return new LinkedHashSet<>(chunk.toList());
+                    }
+                });
+
+                Set<T> distinct = results.get(0);
+                for (int i = 1; i < results.size(); i++)
+                    distinct.addAll(results.get(i));
+                return distinct.iterator();
+            }
+        });
+    }
+
+    private <K> Map.Entry<K, T> extremeBy(final Selector<T, K> keySelector, final Comparator<K> comparator, final boolean min) {
+        List<Map.Entry<K, T>> results = evaluate(new Selector<Stream<T>, Map.Entry<K, T>>() {
+            @Override
+            public Map.Entry<K, T> select(Stream<T> chunk) {
+                List<T> elements = chunk.toList();
+                if (elements.isEmpty()) return null;
+                return min
+                        ? Linq.stream(elements).minBy(keySelector, comparator)
+                        : Linq.stream(elements).maxBy(keySelector, comparator);
+            }
+        });
+
+        // strict comparison keeps the earliest chunk on ties
+        Map.Entry<K, T> result = null;
+        for (Map.Entry<K, T> entry : results) {
+            if (entry == null) continue;
+            if (result == null) {
+                result = entry;
+                continue;
+            }
+            int comparison = comparator.compare(entry.getKey(), result.getKey());
+            if (min ? comparison < 0 : comparison > 0)
+                result = entry;
+        }
+
+        if (result == null) throw new NoSuchElementException();
+        return new AbstractMap.SimpleImmutableEntry<>(result);
+    }
+
+    private <R> ParallelStream<S, R> then(final Pipeline<T, R> stage) {
+        final Pipeline<S, T> upstream = pipeline;
+        return new ParallelStream<>(source, new Pipeline<S, R>() {
+            @Override
+            Predicate<S> sink(Predicate<R> downstream) {
+                return upstream.sink(stage.sink(downstream));
+            }
+        }, pool, threshold);
+    }
+
+    /**
+     * Returns the source if it can be split in place; otherwise, buffers it into an array.
+     */
+    @SuppressWarnings("unchecked")
+    private AbstractStream<S> indexed() {
+        if (source.hasCharacteristics(INDEXED))
+            return source;
+        return new ArrayStream<>((S[]) source.toList().toArray());
+    }
+
+    /**
+     * Applies {@code function} to every chunk of the source, on the pool, and returns the results
+     * in encounter order. There is always at least one chunk.
+     */
+    @SuppressWarnings("unchecked")
+    private <R> List<R> evaluate(final Selector<Stream<T>, R> function) {
+        final AbstractStream<S> indexed = indexed();
+        final int size = indexed.exactSize();
+        final ForkJoinPool pool = this.pool != null ? this.pool : defaultPool();
+        final int chunkSize = threshold > 0
+                ? threshold
+                : Math.max(MIN_CHUNK, size / (pool.getParallelism() * 4) + 1);
+        final int chunks = Math.max(1, (int) (((long) size + chunkSize - 1) / chunkSize));
+        final Object[] results = new Object[chunks];
+
+        if (chunks == 1) {
+            results[0] = function.select(new Chunk(indexed, 0, size));
+        } else {
+            pool.invoke(new ChunkTask<R>(function, results, indexed, chunkSize, 0, chunks));
+        }
+
+        List<R> list = new ArrayList<>(chunks);
+        for (Object result : results)
+            list.add((R) result);
+        return list;
+    }
+
+    /**
+     * Splits a range of chunks in halves until a single chunk is left, then runs it.
+     */
+    private class ChunkTask<R> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Selector<Stream<T>, R> function;
+        private final Object[] results;
+        private final AbstractStream<S> indexed;
+        private final int chunkSize;
+        private final int from;
+        private final int to;
+
+        ChunkTask(Selector<Stream<T>, R> function, Object[] results, AbstractStream<S> indexed, int chunkSize, int from, int to) {
+            this.function = function;
+            this.results = results;
+            this.indexed = indexed;
+            this.chunkSize = chunkSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                int start = from * chunkSize;
+                int end = (int) Math.min((long) start + chunkSize, indexed.exactSize());
+                results[from] = function.select(new Chunk(indexed, start, end));
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkTask<>(function, results, indexed, chunkSize, from, middle),
+                    new ChunkTask<>(function, results, indexed, chunkSize, middle, to));
+        }
+    }
+
+    /**
+     * A sequential view of the chain over a range of source indexes.
+     */
+    private class Chunk extends AbstractStream<T> {
+        private final AbstractStream<S> indexed;
+        private final int from;
+        private final int to;
+
+        Chunk(AbstractStream<S> indexed, int from, int to) {
+            this.indexed = indexed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected boolean forEachWhile(Predicate<T> action) {
+            Predicate<S> sink = pipeline.sink(action);
+            for (int i = from; i < to; i++)
+                if (!sink.apply(indexed.get(i)))
+                    return false;
+            return true;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return toList().iterator();
+        }
+    }
+
+    /**
+     * Turns the sink of a stage into the sink of the source elements.
+     */
+    private abstract static class Pipeline<S, T> {
+        abstract Predicate<S> sink(Predicate<T> downstream);
+    }
+
+    static ForkJoinPool defaultPool() {
+        return DefaultPool.INSTANCE;
+    }
+
+    private static class DefaultPool {
+        static final ForkJoinPool INSTANCE = new ForkJoinPool();
+    }
+}
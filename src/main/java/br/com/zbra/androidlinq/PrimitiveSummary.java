@@ -0,0 +1,114 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.PredicateDouble;
+import br.com.zbra.androidlinq.delegate.PredicateInteger;
+import br.com.zbra.androidlinq.delegate.PredicateLong;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The count, sum, min and max of the values of an {@link IntStream}, {@link LongStream} or
+ * {@link DoubleStream}, collected in a single pass. Sums go through {@link Average}, so the three
+ * primitive streams share its overflow and compensation rules.
+ */
+class PrimitiveSummary implements PredicateInteger, PredicateLong, PredicateDouble {
+
+    private int count;
+    private final Average total = new Average();
+
+    private long longMin = Long.MAX_VALUE;
+    private long longMax = Long.MIN_VALUE;
+
+    private double doubleMin = Double.POSITIVE_INFINITY;
+    private double doubleMax = Double.NEGATIVE_INFINITY;
+
+    @Override
+    public boolean apply(int value) {
+        return apply((long) value);
+    }
+
+    @Override
+    public boolean apply(long value) {
+        count++;
+        total.add(value);
+        if (value < longMin) longMin = value;
+        if (value > longMax) longMax = value;
+        return true;
+    }
+
+    @Override
+    public boolean apply(double value) {
+        count++;
+        total.add(value);
+        doubleMin = Math.min(doubleMin, value);
+        doubleMax = Math.max(doubleMax, value);
+        return true;
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * The wrapped sum of the integral values, as {@code long} addition would give.
+     */
+    long longSum() {
+        return total.longSum();
+    }
+
+    double doubleSum() {
+        return total.doubleSum();
+    }
+
+    /**
+     * @throws NoSuchElementException if there are no values.
+     */
+    long longMin() {
+        checkNotEmpty();
+        return longMin;
+    }
+
+    /**
+     * @throws NoSuchElementException if there are no values.
+     */
+    long longMax() {
+        checkNotEmpty();
+        return longMax;
+    }
+
+    /**
+     * @throws NoSuchElementException if there are no values.
+     */
+    double doubleMin() {
+        checkNotEmpty();
+        return doubleMin;
+    }
+
+    /**
+     * @throws NoSuchElementException if there are no values.
+     */
+    double doubleMax() {
+        checkNotEmpty();
+        return doubleMax;
+    }
+
+    /**
+     * The average of the integral values, rounded toward zero.
+     *
+     * @throws ArithmeticException if there are no values.
+     */
+    long longAverage() {
+        return total.longValue();
+    }
+
+    /**
+     * The average of the floating point values, or {@code NaN} if there are none.
+     */
+    double doubleAverage() {
+        return total.doubleValue();
+    }
+
+    private void checkNotEmpty() {
+        if (count == 0) throw new NoSuchElementException();
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.zbra.androidlinq;
+
+import java.util.Arrays;
+
+/**
+ * Stable O(n) sorts of element indexes by integral keys. Small key ranges use a counting sort;
+ * anything wider uses an LSD radix sort over 8 bit digits, skipping digits every key shares.
+ */
+final class RadixSort {
+
+    private static final int RADIX = 256;
+    private static final int MIN_COUNTING_RANGE = 1 << 10;
+
+    private RadixSort() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Stably reorders {@code indexes} so that {@code keys[indexes[i]]} is ascending (or descending).
+     */
+    static void sort(int[] indexes, int[] keys, boolean descending) {
+        int size = indexes.length;
+        if (size < 2) return;
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int index : indexes) {
+            int key = keys[index];
+            if (key < min) min = key;
+            if (key > max) max = key;
+        }
+
+        long range = (long) max - min;
+        if (range <= Math.max(size, MIN_COUNTING_RANGE)) {
+            int[] counts = new int[(int) range + 2];
+            for (int index : indexes)
+                counts[offset(keys[index], min, max, descending) + 1]++;
+            for (int i = 1; i < counts.length; i++)
+                counts[i] += counts[i - 1];
+
+            int[] sorted = new int[size];
+            for (int index : indexes)
+                sorted[counts[offset(keys[index], min, max, descending)]++] = index;
+            System.arraycopy(sorted, 0, indexes, 0, size);
+            return;
+        }
+
+        int[] source = indexes;
+        int[] target = new int[size];
+        int[] counts = new int[RADIX + 1];
+        for (int shift = 0; shift < Integer.SIZE; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (int index : source)
+                counts[digit(keys[index], shift, descending) + 1]++;
+            if (counts[digit(keys[source[0]], shift, descending) + 1] == size)
+                continue;
+            for (int i = 1; i <= RADIX; i++)
+                counts[i] += counts[i - 1];
+            for (int index : source)
+                target[counts[digit(keys[index], shift, descending)]++] = index;
+
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        if (source != indexes)
+            System.arraycopy(source, 0, indexes, 0, size);
+    }
+
+    /**
+     * Stably reorders {@code indexes} so that {@code keys[indexes[i]]} is ascending (or descending).
+     */
+    static void sort(int[] indexes, long[] keys, boolean descending) {
+        int size = indexes.length;
+        if (size < 2) return;
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int index : indexes) {
+            long key = keys[index];
+            if (key < min) min = key;
+            if (key > max) max = key;
+        }
+
+        // a negative range means max - min overflowed
+        long range = max - min;
+        if (range >= 0 && range <= Math.max(size, MIN_COUNTING_RANGE)) {
+            int[] counts = new int[(int) range + 2];
+            for (int index : indexes)
+                counts[(int) offset(keys[index], min, max, descending) + 1]++;
+            for (int i = 1; i < counts.length; i++)
+                counts[i] += counts[i - 1];
+
+            int[] sorted = new int[size];
+            for (int index : indexes)
+                sorted[counts[(int) offset(keys[index], min, max, descending)]++] = index;
+            System.arraycopy(sorted, 0, indexes, 0, size);
+            return;
+        }
+
+        int[] source = indexes;
+        int[] target = new int[size];
+        int[] counts = new int[RADIX + 1];
+        for (int shift = 0; shift < Long.SIZE; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (int index : source)
+                counts[digit(keys[index], shift, descending) + 1]++;
+            if (counts[digit(keys[source[0]], shift, descending) + 1] == size)
+                continue;
+            for (int i = 1; i <= RADIX; i++)
+                counts[i] += counts[i - 1];
+            for (int index : source)
+                target[counts[digit(keys[index], shift, descending)]++] = index;
+
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        if (source != indexes)
+            System.arraycopy(source, 0, indexes, 0, size);
+    }
+
+    private static int offset(int key, int min, int max, boolean descending) {
+        return descending ? max - key : key - min;
+    }
+
+    private static long offset(long key, long min, long max, boolean descending) {
+        return descending ? max - key : key - min;
+    }
+
+    /**
+     * Digits of the key mapped to unsigned order; {@code ~key} reverses the order for descending sorts.
+     */
+    private static int digit(int key, int shift, boolean descending) {
+        return (((descending ? ~key : key) ^ Integer.MIN_VALUE) >>> shift) & (RADIX - 1);
+    }
+
+    private static int digit(long key, int shift, boolean descending) {
+        return (int) (((descending ? ~key : key) ^ Long.MIN_VALUE) >>> shift) & (RADIX - 1);
+    }
+}
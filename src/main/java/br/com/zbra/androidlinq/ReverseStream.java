@@ -10,6 +10,41 @@ class ReverseStream<T> extends AbstractStream<T> {
         this.stream = stream;
     }
 
+    @Override
+    protected int characteristics() {
+        return stream.characteristics() & ~SORTED;
+    }
+
+    @Override
+    protected int exactSize() {
+        return stream.exactSize();
+    }
+
+    @Override
+    protected int maxSize() {
+        return stream.maxSize();
+    }
+
+    @Override
+    protected T get(int index) {
+        return stream.get(stream.exactSize() - 1 - index);
+    }
+
+    @Override
+    public boolean contains(T element) {
+        return stream.contains(element);
+    }
+
+    @Override
+    public T last() {
+        return stream.first();
+    }
+
+    @Override
+    public T lastOrDefault(T defaultValue) {
+        return stream.firstOrDefault(defaultValue);
+    }
+
     @Override
     public Iterator<T> iterator() {
         return stream.reverseIterator();
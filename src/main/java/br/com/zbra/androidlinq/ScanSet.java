@@ -0,0 +1,51 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.EqualityComparator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A set of values that can only be compared for equality, not hashed, so every operation scans all
+ * of them. Null values are compared by identity and never passed to the comparator.
+ */
+class ScanSet<T> {
+    private final List<T> values = new ArrayList<>();
+    private final EqualityComparator<T> comparator;
+
+    ScanSet(EqualityComparator<T> comparator) {
+        this.comparator = comparator;
+    }
+
+    boolean contains(T value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * @return {@code true} if {@code value} was not in the set yet.
+     */
+    boolean add(T value) {
+        if (indexOf(value) >= 0) return false;
+        values.add(value);
+        return true;
+    }
+
+    /**
+     * @return {@code true} if {@code value} was in the set.
+     */
+    boolean remove(T value) {
+        int index = indexOf(value);
+        if (index < 0) return false;
+        values.remove(index);
+        return true;
+    }
+
+    private int indexOf(T value) {
+        for (int i = 0, size = values.size(); i < size; i++) {
+            T other = values.get(i);
+            if (value == null || other == null ? value == other : comparator.compare(value, other))
+                return i;
+        }
+        return -1;
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.zbra.androidlinq;
 
+import br.com.zbra.androidlinq.delegate.Predicate;
 import br.com.zbra.androidlinq.delegate.Selector;
 
 import java.util.Iterator;
@@ -15,38 +16,63 @@ class SelectManyStream<T, TSelected> extends AbstractStream<TSelected> {
         this.selector = selector;
     }
 
+    @Override
+    protected boolean forEachWhile(final Predicate<TSelected> action) {
+        return stream.forEachWhile(new Predicate<T>() {
+            @Override
+            public boolean apply(T value) {
+                for (TSelected selected : selector.select(value))
+                    if (!action.apply(selected))
+                        return false;
+                return true;
+            }
+        });
+    }
+
     @Override
     public Iterator<TSelected> iterator() {
-        return new SelectManyIterator<>(selector, stream.iterator());
+        return new SelectManyIterator<>(selector, stream.iterator(), false);
     }
 
+    /**
+     * Walks the source backwards and each selected sequence backwards, without buffering the
+     * flattened result.
+     */
     @Override
     protected Iterator<TSelected> reverseIterator() {
-        return super.reverseIterator();
+        return new SelectManyIterator<>(selector, stream.reverseIterator(), true);
     }
 
     private static class SelectManyIterator<T, TSelected> implements Iterator<TSelected> {
-        private Boolean hasNext;
+        private boolean hasNext;
+        private boolean nextEvaluated;
         private Iterator<TSelected> selectedIterator;
         private final Iterator<T> sourceIterator;
         private final Selector<T, Iterable<TSelected>> selector;
+        private final boolean reverse;
 
-        public SelectManyIterator(Selector<T, Iterable<TSelected>> selector, Iterator<T> sourceIterator) {
+        public SelectManyIterator(Selector<T, Iterable<TSelected>> selector, Iterator<T> sourceIterator, boolean reverse) {
             this.sourceIterator = sourceIterator;
             this.selector = selector;
+            this.reverse = reverse;
         }
 
         @Override
         public boolean hasNext() {
-            if (hasNext != null)
+            if (nextEvaluated)
                 return hasNext;
 
+            nextEvaluated = true;
+
             if (selectedIterator != null && selectedIterator.hasNext())
                 return hasNext = true;
 
-            while(sourceIterator.hasNext()) {
+            while (sourceIterator.hasNext()) {
                 Iterable<TSelected> selectedIterable = selector.select(sourceIterator.next());
-                if ((selectedIterator = selectedIterable.iterator()).hasNext())
+                selectedIterator = reverse
+                        ? wrap(selectedIterable).reverseIterator()
+                        : selectedIterable.iterator();
+                if (selectedIterator.hasNext())
                     return hasNext = true;
             }
 
@@ -56,7 +82,7 @@ class SelectManyStream<T, TSelected> extends AbstractStream<TSelected> {
         @Override
         public TSelected next() {
             if (!hasNext()) throw new NoSuchElementException();
-            hasNext = null;
+            nextEvaluated = false;
             return selectedIterator.next();
         }
 
@@ -1,7 +1,9 @@
 package br.com.zbra.androidlinq;
 
+import br.com.zbra.androidlinq.delegate.Predicate;
 import br.com.zbra.androidlinq.delegate.Selector;
 
+import java.util.Arrays;
 import java.util.Iterator;
 
 class SelectStream<T, TSelected> extends AbstractStream<TSelected> {
@@ -18,6 +20,44 @@ class SelectStream<T, TSelected> extends AbstractStream<TSelected> {
         return stream.count();
     }
 
+    @Override
+    protected int characteristics() {
+        return stream.characteristics() & (SIZED | INDEXED);
+    }
+
+    @Override
+    protected int exactSize() {
+        return stream.exactSize();
+    }
+
+    @Override
+    protected int maxSize() {
+        return stream.maxSize();
+    }
+
+    @Override
+    protected TSelected get(int index) {
+        return selector.select(stream.get(index));
+    }
+
+    /**
+     * Fuses consecutive projections into a single stage that applies the composed selector.
+     */
+    @Override
+    public <R> Stream<R> select(Selector<TSelected, R> selector) {
+        return new SelectStream<>(stream, ComposedSelector.of(this.selector, selector));
+    }
+
+    @Override
+    protected boolean forEachWhile(final Predicate<TSelected> action) {
+        return stream.forEachWhile(new Predicate<T>() {
+            @Override
+            public boolean apply(T value) {
+                return action.apply(selector.select(value));
+            }
+        });
+    }
+
     @Override
     public Iterator<TSelected> iterator() {
         return new SelectIterator<>(selector, stream.iterator());
@@ -28,6 +68,36 @@ class SelectStream<T, TSelected> extends AbstractStream<TSelected> {
         return new SelectIterator<>(selector, stream.reverseIterator());
     }
 
+    private static class ComposedSelector<T, R> implements Selector<T, R> {
+        private final Selector<Object, Object>[] selectors;
+
+        private ComposedSelector(Selector<Object, Object>[] selectors) {
+            this.selectors = selectors;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T, TSelected, R> Selector<T, R> of(Selector<T, TSelected> first, Selector<TSelected, R> second) {
+            Selector<Object, Object>[] selectors;
+            if (first instanceof ComposedSelector) {
+                Selector<Object, Object>[] composed = ((ComposedSelector<?, ?>) first).selectors;
+                selectors = Arrays.copyOf(composed, composed.length + 1);
+            } else {
+                selectors = (Selector<Object, Object>[]) new Selector<?, ?>[] { first, null };
+            }
+            selectors[selectors.length - 1] = (Selector<Object, Object>) (Selector<?, ?>) second;
+            return new ComposedSelector<>(selectors);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public R select(T value) {
+            Object result = value;
+            for (Selector<Object, Object> selector : selectors)
+                result = selector.select(result);
+            return (R) result;
+        }
+    }
+
     private static class SelectIterator<T, TSelected> implements Iterator<TSelected> {
         private final Iterator<T> iterator;
         private final Selector<T, TSelected> selector;
@@ -0,0 +1,128 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.EqualityComparator;
+import br.com.zbra.androidlinq.delegate.Predicate;
+import br.com.zbra.androidlinq.delegate.Selector;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * The distinct elements of a first sequence whose keys are (intersect) or are not (except) found
+ * in a second sequence, in the order of the first sequence. Each iteration hashes the keys of the
+ * second sequence once, then filters the first sequence lazily.
+ */
+class SetOperationStream<T, TKey> extends AbstractStream<T> {
+
+    private final AbstractStream<T> first;
+    private final Iterable<T> second;
+    private final Selector<T, TKey> keySelector;
+    private final EqualityComparator<T> comparator;
+    private final boolean intersect;
+
+    /**
+     * @param keySelector selects the key elements are compared by; {@code null} compares the elements themselves.
+     * @param comparator  compares elements by scanning instead of hashing, or {@code null}.
+     */
+    SetOperationStream(AbstractStream<T> first, Iterable<T> second, Selector<T, TKey> keySelector, EqualityComparator<T> comparator, boolean intersect) {
+        this.first = first;
+        this.second = second;
+        this.keySelector = keySelector;
+        this.comparator = comparator;
+        this.intersect = intersect;
+    }
+
+    /**
+     * Elements compared by a comparator may still be equal according to {@code equals()}.
+     */
+    @Override
+    protected int characteristics() {
+        int characteristics = first.characteristics() & ~(SIZED | INDEXED);
+        return comparator == null ? characteristics | DISTINCT : characteristics;
+    }
+
+    @Override
+    protected int maxSize() {
+        return intersect
+                ? Math.min(first.maxSize(), wrap(second).maxSize())
+                : first.maxSize();
+    }
+
+    @Override
+    protected boolean forEachWhile(final Predicate<T> action) {
+        final Predicate<T> filter = filter();
+        return first.forEachWhile(new Predicate<T>() {
+            @Override
+            public boolean apply(T value) {
+                return !filter.apply(value) || action.apply(value);
+            }
+        });
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new WhereStream<>(first, filter()).iterator();
+    }
+
+    /**
+     * Accepts the first element of each key that is (or is not) in the second sequence. Keys found in
+     * the second sequence are removed once matched by intersect; keys accepted by except are added, so
+     * either way each key is accepted once.
+     */
+    @SuppressWarnings("unchecked")
+    private Predicate<T> filter() {
+        if (comparator != null) {
+            final ScanSet<T> set = new ScanSet<>(comparator);
+            for (T value : second)
+                set.add(value);
+            return new Predicate<T>() {
+                @Override
+                public boolean apply(T value) {
+                    return intersect ? set.remove(value) : set.add(value);
+                }
+            };
+        }
+
+        if (keySelector == null && second instanceof Set) {
+            final Set<T> set = (Set<T>) second;
+            final Set<T> accepted = new HashSet<>();
+            return new Predicate<T>() {
+                @Override
+                public boolean apply(T value) {
+                    return set.contains(value) == intersect && accepted.add(value);
+                }
+            };
+        }
+
+        final Set<Object> keys = secondKeys();
+        return new Predicate<T>() {
+            @Override
+            public boolean apply(T value) {
+                return intersect ? keys.remove(key(value)) : keys.add(key(value));
+            }
+        };
+    }
+
+    /**
+     * Hashes the keys of the second sequence. The first sequence is only read by the filter, so its
+     * pipeline runs once per iteration and stays lazy.
+     */
+    private Set<Object> secondKeys() {
+        AbstractStream<T> second = wrap(this.second);
+        int secondSize = second.exactSize();
+        final Set<Object> keys = secondSize >= 0 ? new HashSet<Object>(capacity(secondSize)) : new HashSet<Object>();
+        second.forEachWhile(new Predicate<T>() {
+            @Override
+            public boolean apply(T value) {
+                keys.add(key(value));
+                return true;
+            }
+        });
+        return keys;
+    }
+
+    private Object key(T value) {
+        return keySelector == null ? value : keySelector.select(value);
+    }
+}
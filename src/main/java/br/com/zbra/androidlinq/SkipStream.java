@@ -1,5 +1,7 @@
 package br.com.zbra.androidlinq;
 
+import br.com.zbra.androidlinq.delegate.Predicate;
+
 import java.util.Iterator;
 
 class SkipStream<T> extends AbstractStream<T> {
@@ -20,17 +22,76 @@ class SkipStream<T> extends AbstractStream<T> {
         return count >= originalCount ? 0 : originalCount - count;
     }
 
+    /**
+     * Fuses consecutive skips: skip(n).skip(m) is skip(n + m), saturating at {@link Integer#MAX_VALUE}.
+     */
+    @Override
+    public Stream<T> skip(int count) {
+        if (count < 0) throw new IllegalArgumentException("count must be greater than 0: " + count);
+        return new SkipStream<>(stream, (int) Math.min((long) this.count + count, Integer.MAX_VALUE));
+    }
+
+    @Override
+    protected int characteristics() {
+        return stream.characteristics();
+    }
+
+    @Override
+    protected int exactSize() {
+        int size = stream.exactSize();
+        return size >= 0 ? Math.max(0, size - count) : -1;
+    }
+
+    @Override
+    protected int maxSize() {
+        int size = stream.maxSize();
+        return size == Integer.MAX_VALUE ? size : Math.max(0, size - count);
+    }
+
+    @Override
+    protected T get(int index) {
+        return stream.get(index + count);
+    }
+
+    @Override
+    protected boolean forEachWhile(final Predicate<T> action) {
+        if (hasCharacteristics(INDEXED)) {
+            for (int i = count, size = stream.exactSize(); i < size; i++)
+                if (!action.apply(stream.get(i)))
+                    return false;
+            return true;
+        }
+        return stream.forEachWhile(new Predicate<T>() {
+            private int skipped;
+
+            @Override
+            public boolean apply(T value) {
+                if (skipped < count) {
+                    skipped++;
+                    return true;
+                }
+                return action.apply(value);
+            }
+        });
+    }
+
     @Override
     public Iterator<T> iterator() {
+        if (hasCharacteristics(INDEXED))
+            return new IndexedIterator<>(this, false);
         return new SkipIterator<>(stream.iterator(), count);
     }
 
     @Override
     protected Iterator<T> reverseIterator() {
-        return super.reverseIterator();
+        int size = stream.exactSize();
+        if (size < 0 || hasCharacteristics(INDEXED))
+            return super.reverseIterator();
+
+        return new TakeStream.TakeIterator<>(stream.reverseIterator(), Math.max(0, size - count));
     }
 
-    private static class SkipIterator<T> implements Iterator<T> {
+    static class SkipIterator<T> implements Iterator<T> {
         private final Iterator<T> wrapped;
 
         public SkipIterator(Iterator<T> wrapped, long count) {
@@ -0,0 +1,342 @@
+package br.com.zbra.androidlinq;
+
+import br.com.zbra.androidlinq.delegate.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * One level of an {@link OrderedStream} ordering. Before sorting, a SortKey is bound to the buffered
+ * elements: every key is selected exactly once and kept in an array, so comparisons never call the
+ * key selector again. Keys of {@link SelectorInteger}, {@link SelectorShort}, {@link SelectorByte},
+ * {@link SelectorLong} and {@link SelectorDouble} selectors ordered by their natural order are kept in
+ * primitive arrays, and orderings made only of integral keys are radix sorted.
+ *
+ * @param <T> the type of the ordered elements
+ */
+abstract class SortKey<T> {
+
+    private static final Comparator<Comparable<Object>> NATURAL_ORDER = new Comparator<Comparable<Object>>() {
+        @Override
+        public int compare(Comparable<Object> c1, Comparable<Object> c2) {
+            return c1.compareTo(c2);
+        }
+    };
+
+    final boolean descending;
+
+    private SortKey(boolean descending) {
+        this.descending = descending;
+    }
+
+    /**
+     * @return a comparator that orders keys according to their {@link Comparable} implementation.
+     */
+    @SuppressWarnings("unchecked")
+    static <K extends Comparable<K>> Comparator<K> naturalOrder() {
+        return (Comparator<K>) (Comparator<?>) NATURAL_ORDER;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T, K> SortKey<T> create(Selector<T, K> keySelector, Comparator<K> comparator, boolean descending) {
+        if (comparator == NATURAL_ORDER) {
+            if (keySelector instanceof SelectorInteger
+                    || keySelector instanceof SelectorShort
+                    || keySelector instanceof SelectorByte)
+                return new IntegerKey<>((Selector<T, ? extends Number>) keySelector, descending);
+            if (keySelector instanceof SelectorLong)
+                return new LongKey<>((SelectorLong<T>) keySelector, descending);
+            if (keySelector instanceof SelectorDouble)
+                return new DoubleKey<>((SelectorDouble<T>) keySelector, descending);
+        }
+        return new ObjectKey<>(keySelector, comparator, descending);
+    }
+
+    /**
+     * Selects the key of every element and returns a comparator over their indexes.
+     * The returned comparator ignores {@link #descending}.
+     */
+    abstract IndexComparator bind(Object[] elements);
+
+    /**
+     * Selects the key of a single element, for orderings that are compared element by element
+     * instead of being bound to a buffer.
+     */
+    abstract Object key(T element);
+
+    /**
+     * Compares two keys returned by {@link #key(Object)}, ignoring {@link #descending}.
+     */
+    abstract int compareKeys(Object key1, Object key2);
+
+    /**
+     * @return whether this key supports {@link #sort(Object[], int[], boolean)}.
+     */
+    boolean isIntegral() {
+        return false;
+    }
+
+    /**
+     * Stably reorders {@code indexes} by the key of the element each one points to, in O(n).
+     */
+    void sort(Object[] elements, int[] indexes, boolean descending) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Sorts the indexes of {@code elements} by every level of {@code sortKeys}.
+     * When all levels have integral keys the levels are radix sorted from last to first, which is
+     * stable and linear; otherwise the bound comparator is merge sorted.
+     */
+    static <T> int[] sort(List<SortKey<T>> sortKeys, Object[] elements) {
+        return sort(sortKeys, elements, null, 0, false);
+    }
+
+    /**
+     * Sorts like {@link #sort(List, Object[])}; comparison sorts longer than {@code threshold} run in
+     * parallel on {@code pool} when one is given. Keys are extracted on the calling thread before
+     * sorting, so selectors are never called from the pool. Radix sorting is linear and stays sequential.
+     *
+     * @param reverse whether to invert the direction of every level; ties still keep their source order.
+     */
+    static <T> int[] sort(List<SortKey<T>> sortKeys, Object[] elements, ForkJoinPool pool, int threshold, boolean reverse) {
+        for (SortKey<T> sortKey : sortKeys)
+            if (!sortKey.isIntegral())
+                return pool == null
+                        ? IndexSort.sort(elements.length, bind(sortKeys, elements, reverse))
+                        : IndexSort.sort(elements.length, bind(sortKeys, elements, reverse), pool, threshold);
+
+        int[] indexes = new int[elements.length];
+        for (int i = 0; i < indexes.length; i++)
+            indexes[i] = i;
+        for (int i = sortKeys.size() - 1; i >= 0; i--) {
+            SortKey<T> sortKey = sortKeys.get(i);
+            sortKey.sort(elements, indexes, sortKey.descending != reverse);
+        }
+        return indexes;
+    }
+
+    /**
+     * Binds every level to {@code elements} and chains them into a single comparator.
+     * Ties on every level are broken by index, so any sort algorithm yields a stable order.
+     *
+     * @param reverse whether to invert the direction of every level, but not the tie break.
+     */
+    static <T> IndexComparator bind(List<SortKey<T>> sortKeys, Object[] elements, boolean reverse) {
+        final int levels = sortKeys.size();
+        final IndexComparator[] comparators = new IndexComparator[levels];
+        final boolean[] inverted = new boolean[levels];
+        for (int i = 0; i < levels; i++) {
+            SortKey<T> sortKey = sortKeys.get(i);
+            comparators[i] = sortKey.bind(elements);
+            inverted[i] = sortKey.descending != reverse;
+        }
+
+        return new IndexComparator() {
+            @Override
+            public int compare(int index1, int index2) {
+                for (int i = 0; i < levels; i++) {
+                    int compare = inverted[i]
+                            ? comparators[i].compare(index2, index1)
+                            : comparators[i].compare(index1, index2);
+                    if (compare != 0)
+                        return compare;
+                }
+                return index1 < index2 ? -1 : (index1 == index2 ? 0 : 1);
+            }
+        };
+    }
+
+    /**
+     * @return the key of {@code element} at every level of {@code sortKeys}.
+     */
+    static <T> Object[] keys(List<SortKey<T>> sortKeys, T element) {
+        Object[] keys = new Object[sortKeys.size()];
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = sortKeys.get(i).key(element);
+        return keys;
+    }
+
+    /**
+     * Compares two sets of keys returned by {@link #keys(List, Object)} level by level, honoring
+     * {@link #descending}. Unlike the bound comparator, ties are not broken.
+     */
+    static <T> int compare(List<SortKey<T>> sortKeys, Object[] keys1, Object[] keys2) {
+        for (int i = 0; i < keys1.length; i++) {
+            SortKey<T> sortKey = sortKeys.get(i);
+            int compare = sortKey.descending
+                    ? sortKey.compareKeys(keys2[i], keys1[i])
+                    : sortKey.compareKeys(keys1[i], keys2[i]);
+            if (compare != 0)
+                return compare;
+        }
+        return 0;
+    }
+
+    private static class ObjectKey<T, K> extends SortKey<T> {
+        private final Selector<T, K> keySelector;
+        private final Comparator<K> comparator;
+
+        ObjectKey(Selector<T, K> keySelector, Comparator<K> comparator, boolean descending) {
+            super(descending);
+            this.keySelector = keySelector;
+            this.comparator = comparator;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        IndexComparator bind(Object[] elements) {
+            final Object[] keys = new Object[elements.length];
+            for (int i = 0; i < elements.length; i++)
+                keys[i] = keySelector.select((T) elements[i]);
+
+            return new IndexComparator() {
+                @Override
+                public int compare(int index1, int index2) {
+                    return comparator.compare((K) keys[index1], (K) keys[index2]);
+                }
+            };
+        }
+
+        @Override
+        Object key(T element) {
+            return keySelector.select(element);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        int compareKeys(Object key1, Object key2) {
+            return comparator.compare((K) key1, (K) key2);
+        }
+    }
+
+    private static class IntegerKey<T> extends SortKey<T> {
+        private final Selector<T, ? extends Number> keySelector;
+
+        IntegerKey(Selector<T, ? extends Number> keySelector, boolean descending) {
+            super(descending);
+            this.keySelector = keySelector;
+        }
+
+        @Override
+        IndexComparator bind(Object[] elements) {
+            final int[] keys = keys(elements);
+            return new IndexComparator() {
+                @Override
+                public int compare(int index1, int index2) {
+                    return Integer.compare(keys[index1], keys[index2]);
+                }
+            };
+        }
+
+        @Override
+        Object key(T element) {
+            return keySelector.select(element).intValue();
+        }
+
+        @Override
+        int compareKeys(Object key1, Object key2) {
+            return Integer.compare((Integer) key1, (Integer) key2);
+        }
+
+        @Override
+        boolean isIntegral() {
+            return true;
+        }
+
+        @Override
+        void sort(Object[] elements, int[] indexes, boolean descending) {
+            RadixSort.sort(indexes, keys(elements), descending);
+        }
+
+        @SuppressWarnings("unchecked")
+        private int[] keys(Object[] elements) {
+            int[] keys = new int[elements.length];
+            for (int i = 0; i < elements.length; i++)
+                keys[i] = keySelector.select((T) elements[i]).intValue();
+            return keys;
+        }
+    }
+
+    private static class LongKey<T> extends SortKey<T> {
+        private final SelectorLong<T> keySelector;
+
+        LongKey(SelectorLong<T> keySelector, boolean descending) {
+            super(descending);
+            this.keySelector = keySelector;
+        }
+
+        @Override
+        IndexComparator bind(Object[] elements) {
+            final long[] keys = keys(elements);
+            return new IndexComparator() {
+                @Override
+                public int compare(int index1, int index2) {
+                    return Long.compare(keys[index1], keys[index2]);
+                }
+            };
+        }
+
+        @Override
+        Object key(T element) {
+            return keySelector.select(element);
+        }
+
+        @Override
+        int compareKeys(Object key1, Object key2) {
+            return Long.compare((Long) key1, (Long) key2);
+        }
+
+        @Override
+        boolean isIntegral() {
+            return true;
+        }
+
+        @Override
+        void sort(Object[] elements, int[] indexes, boolean descending) {
+            RadixSort.sort(indexes, keys(elements), descending);
+        }
+
+        @SuppressWarnings("unchecked")
+        private long[] keys(Object[] elements) {
+            long[] keys = new long[elements.length];
+            for (int i = 0; i < elements.length; i++)
+                keys[i] = keySelector.select((T) elements[i]);
+            return keys;
+        }
+    }
+
+    private static class DoubleKey<T> extends SortKey<T> {
+        private final SelectorDouble<T> keySelector;
+
+        DoubleKey(SelectorDouble<T> keySelector, boolean descending) {
+            super(descending);
+            this.keySelector = keySelector;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        IndexComparator bind(Object[] elements) {
+            final double[] keys = new double[elements.length];
+            for (int i = 0; i < elements.length; i++)
+                keys[i] = keySelector.select((T) elements[i]);
+
+            return new IndexComparator() {
+                @Override
+                public int compare(int index1, int index2) {
+                    return Double.compare(keys[index1], keys[index2]);
+                }
+            };
+        }
+
+        @Override
+        Object key(T element) {
+            return keySelector.select(element);
+        }
+
+        @Override
+        int compareKeys(Object key1, Object key2) {
+            return Double.compare((Double) key1, (Double) key2);
+        }
+    }
+}
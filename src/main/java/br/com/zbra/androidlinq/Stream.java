@@ -8,6 +8,7 @@ import java.math.MathContext;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Decorates {@code Iterable<T>} objects to enable use of Linq like expressions.
@@ -41,6 +42,30 @@ public interface Stream<T> extends Iterable<T> {
      */
     <TResult> Stream<TResult> selectMany(Selector<T, Iterable<TResult>> selector);
 
+    /**
+     * Projects each element of a sequence into a primitive {@code int} value.
+     *
+     * @param selector A transform function to apply to each element.
+     * @return An IntStream whose values are the result of invoking the transform function on each element of source.
+     */
+    IntStream selectInt(SelectorInteger<T> selector);
+
+    /**
+     * Projects each element of a sequence into a primitive {@code long} value.
+     *
+     * @param selector A transform function to apply to each element.
+     * @return An LongStream whose values are the result of invoking the transform function on each element of source.
+     */
+    LongStream selectLong(SelectorLong<T> selector);
+
+    /**
+     * Projects each element of a sequence into a primitive {@code double} value.
+     *
+     * @param selector A transform function to apply to each element.
+     * @return An DoubleStream whose values are the result of invoking the transform function on each element of source.
+     */
+    DoubleStream selectDouble(SelectorDouble<T> selector);
+
     /**
      * Groups the elements of a sequence according to a specified key selector function.
      *
@@ -54,6 +79,8 @@ public interface Stream<T> extends Iterable<T> {
 
     /**
      * Groups the elements of a sequence according to a specified key selector function.
+     * Keys selected by a {@link SelectorInteger} or {@link SelectorLong} are hashed unboxed, in open-addressing
+     * tables that need no entry object per key.
      *
      * @param keySelector A function to extract the key for each source element.
      * @param <TKey>      The type of the key returned by keySelector.
@@ -61,6 +88,190 @@ public interface Stream<T> extends Iterable<T> {
      */
     <TKey> Stream<Grouping<TKey, T>> groupBy(Selector<T, TKey> keySelector);
 
+    /**
+     * Groups the elements of a sequence according to an {@code int} key, hashed unboxed.
+     *
+     * @param keySelector A function to extract the key for each source element.
+     * @return An Stream of type Grouping where each Grouping object contains a sequence of objects and their key.
+     * @see #groupBy(Selector)
+     */
+    Stream<Grouping<Integer, T>> groupByInt(SelectorInteger<T> keySelector);
+
+    /**
+     * Groups the elements of a sequence according to a {@code long} key, hashed unboxed.
+     *
+     * @param keySelector A function to extract the key for each source element.
+     * @return An Stream of type Grouping where each Grouping object contains a sequence of objects and their key.
+     * @see #groupBy(Selector)
+     */
+    Stream<Grouping<Long, T>> groupByLong(SelectorLong<T> keySelector);
+
+    /**
+     * Groups the elements of a sequence by key and applies an accumulator function over each group, in a single
+     * pass that keeps one accumulator value per key and no group elements. Each group is accumulated from the seed
+     * value, so the seed should be immutable.
+     *
+     * @param keySelector   A function to extract the key for each source element.
+     * @param seed          The initial accumulator value of each group.
+     * @param aggregator    An accumulator function to be invoked on each element.
+     * @param <TKey>        The type of the key returned by keySelector.
+     * @param <TAccumulate> The type of the accumulator value.
+     * @return A Map from each key to the final accumulator value of its group, in the order the keys first appear.
+     */
+    <TKey, TAccumulate> Map<TKey, TAccumulate> groupAggregate(Selector<T, TKey> keySelector, TAccumulate seed, Aggregator<T, TAccumulate> aggregator);
+
+    /**
+     * Groups the elements of a sequence by key and applies an accumulator function over each group of a sequence
+     * that may be split into chunks. The accumulator values of a key in two adjacent chunks are merged in encounter
+     * order with the combiner function; the seed must therefore be an identity for the combiner. A sequential
+     * stream never calls the combiner.
+     *
+     * @param keySelector   A function to extract the key for each source element.
+     * @param seed          The initial accumulator value of each group.
+     * @param aggregator    An accumulator function to be invoked on each element.
+     * @param combiner      A function that merges the accumulator values of a key in two adjacent chunks.
+     * @param <TKey>        The type of the key returned by keySelector.
+     * @param <TAccumulate> The type of the accumulator value.
+     * @return A Map from each key to the final accumulator value of its group, in the order the keys first appear.
+     * @see #groupAggregate(Selector, Object, Aggregator)
+     * @see #parallel()
+     */
+    <TKey, TAccumulate> Map<TKey, TAccumulate> groupAggregate(Selector<T, TKey> keySelector, TAccumulate seed, Aggregator<T, TAccumulate> aggregator, Aggregator<TAccumulate, TAccumulate> combiner);
+
+    /**
+     * Counts the elements of a sequence by key, in a single pass that keeps one counter per key.
+     *
+     * @param keySelector A function to extract the key for each source element.
+     * @param <TKey>      The type of the key returned by keySelector.
+     * @return A Map from each key to the number of elements with that key, in the order the keys first appear.
+     */
+    <TKey> Map<TKey, Integer> countBy(Selector<T, TKey> keySelector);
+
+    /**
+     * Sums a {@code long} value of the elements of a sequence by key, in a single pass that keeps one unboxed
+     * sum per key.
+     *
+     * @param keySelector A function to extract the key for each source element.
+     * @param selector    A function to extract the value to sum from each element.
+     * @param <TKey>      The type of the key returned by keySelector.
+     * @return A Map from each key to the sum of the values of its elements, in the order the keys first appear.
+     */
+    <TKey> Map<TKey, Long> sumBy(Selector<T, TKey> keySelector, SelectorLong<T> selector);
+
+    /**
+     * Correlates the elements of two sequences based on matching keys. Each iteration of the result reads the
+     * inner sequence into a hash table of its own, so later changes to the inner sequence are seen, and each
+     * outer element is then matched in constant time. Results come in the order of the outer elements, then of
+     * the matching inner elements. Elements whose key is {@code null} are not matched. To index the inner
+     * sequence only once and reuse it, build a {@link Lookup} with {@link #toLookup(Selector)} and query it.
+     *
+     * @param inner            The sequence to join to this sequence.
+     * @param outerKeySelector A function to extract the join key from each element of this sequence.
+     * @param innerKeySelector A function to extract the join key from each element of the inner sequence.
+     * @param resultSelector   A function to create a result element from two matching elements.
+     * @param <TInner>         The type of the elements of the inner sequence.
+     * @param <TKey>           The type of the keys returned by the key selector functions.
+     * @param <TResult>        The type of the result elements.
+     * @return An Stream of type TResult that has elements obtained by performing an inner join on two sequences.
+     */
+    <TInner, TKey, TResult> Stream<TResult> join(Iterable<TInner> inner, Selector<T, TKey> outerKeySelector, Selector<TInner, TKey> innerKeySelector, JoinSelector<T, TInner, TResult> resultSelector);
+
+    /**
+     * Correlates the elements of two sequences based on keys matched by {@code comparator}.
+     * An EqualityComparator cannot hash keys, so each outer element is compared against every inner key,
+     * which is O(n * m); inner keys are still selected only once per iteration. Prefer the overload without a comparator
+     * when the keys implement {@code equals()} and {@code hashCode()}.
+     *
+     * @param inner            The sequence to join to this sequence.
+     * @param outerKeySelector A function to extract the join key from each element of this sequence.
+     * @param innerKeySelector A function to extract the join key from each element of the inner sequence.
+     * @param resultSelector   A function to create a result element from two matching elements.
+     * @param comparator       An EqualityComparator to compare keys.
+     * @param <TInner>         The type of the elements of the inner sequence.
+     * @param <TKey>           The type of the keys returned by the key selector functions.
+     * @param <TResult>        The type of the result elements.
+     * @return An Stream of type TResult that has elements obtained by performing an inner join on two sequences.
+     */
+    <TInner, TKey, TResult> Stream<TResult> join(Iterable<TInner> inner, Selector<T, TKey> outerKeySelector, Selector<TInner, TKey> innerKeySelector, JoinSelector<T, TInner, TResult> resultSelector, EqualityComparator<TKey> comparator);
+
+    /**
+     * Correlates the elements of two sequences based on matching keys and groups the results. Each element of
+     * this sequence is paired with the (possibly empty) Stream of inner elements whose key matches its own.
+     * Each iteration of the result reads the inner sequence into a hash table of its own.
+     *
+     * @param inner            The sequence to join to this sequence.
+     * @param outerKeySelector A function to extract the join key from each element of this sequence.
+     * @param innerKeySelector A function to extract the join key from each element of the inner sequence.
+     * @param resultSelector   A function to create a result element from an element of this sequence and its matches.
+     * @param <TInner>         The type of the elements of the inner sequence.
+     * @param <TKey>           The type of the keys returned by the key selector functions.
+     * @param <TResult>        The type of the result elements.
+     * @return An Stream of type TResult that has one element for each element of this sequence.
+     */
+    <TInner, TKey, TResult> Stream<TResult> groupJoin(Iterable<TInner> inner, Selector<T, TKey> outerKeySelector, Selector<TInner, TKey> innerKeySelector, JoinSelector<T, Stream<TInner>, TResult> resultSelector);
+
+    /**
+     * Correlates the elements of two sequences based on keys matched by {@code comparator} and groups the
+     * results. Like {@link #join(Iterable, Selector, Selector, JoinSelector, EqualityComparator)}, matching
+     * compares each outer key against every inner key.
+     *
+     * @param inner            The sequence to join to this sequence.
+     * @param outerKeySelector A function to extract the join key from each element of this sequence.
+     * @param innerKeySelector A function to extract the join key from each element of the inner sequence.
+     * @param resultSelector   A function to create a result element from an element of this sequence and its matches.
+     * @param comparator       An EqualityComparator to compare keys.
+     * @param <TInner>         The type of the elements of the inner sequence.
+     * @param <TKey>           The type of the keys returned by the key selector functions.
+     * @param <TResult>        The type of the result elements.
+     * @return An Stream of type TResult that has one element for each element of this sequence.
+     */
+    <TInner, TKey, TResult> Stream<TResult> groupJoin(Iterable<TInner> inner, Selector<T, TKey> outerKeySelector, Selector<TInner, TKey> innerKeySelector, JoinSelector<T, Stream<TInner>, TResult> resultSelector, EqualityComparator<TKey> comparator);
+
+    /**
+     * Declares that the sequence is already sorted in ascending order according to a key, without sorting it.
+     * The result can be merged and merge-joined like any OrderedStream; thenBy declares further keys the
+     * sequence is already ordered by. The order is trusted, not checked.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @param <TKey>      The type of the key returned by keySelector.
+     * @return An OrderedStream of type T over the elements in their current order.
+     */
+    <TKey extends Comparable<TKey>> OrderedStream<T> asOrderedBy(Selector<T, TKey> keySelector);
+
+    /**
+     * Declares that the sequence is already sorted in ascending order according to a key and comparator,
+     * without sorting it.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @param comparator  An Comparator to compare keys.
+     * @param <TKey>      The type of the key returned by keySelector.
+     * @return An OrderedStream of type T over the elements in their current order.
+     * @see #asOrderedBy(Selector)
+     */
+    <TKey> OrderedStream<T> asOrderedBy(Selector<T, TKey> keySelector, Comparator<TKey> comparator);
+
+    /**
+     * Declares that the sequence is already sorted in descending order according to a key, without sorting it.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @param <TKey>      The type of the key returned by keySelector.
+     * @return An OrderedStream of type T over the elements in their current order.
+     * @see #asOrderedBy(Selector)
+     */
+    <TKey extends Comparable<TKey>> OrderedStream<T> asOrderedByDescending(Selector<T, TKey> keySelector);
+
+    /**
+     * Declares that the sequence is already sorted in descending order according to a key and comparator,
+     * without sorting it.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @param comparator  An Comparator to compare keys.
+     * @param <TKey>      The type of the key returned by keySelector.
+     * @return An OrderedStream of type T over the elements in their current order.
+     * @see #asOrderedBy(Selector)
+     */
+    <TKey> OrderedStream<T> asOrderedByDescending(Selector<T, TKey> keySelector, Comparator<TKey> comparator);
+
     /**
      * Sorts the elements of a sequence in ascending order according to a key.
      *
@@ -99,6 +310,43 @@ public interface Stream<T> extends Iterable<T> {
      */
     <TKey extends Comparable<TKey>> OrderedStream<T> orderByDescending(Selector<T, TKey> keySelector);
 
+    /**
+     * Sorts the elements of a sequence in ascending order according to an {@code int} key. The keys are kept
+     * unboxed, and an ordering made only of {@code int} and {@code long} keys is radix sorted in linear time.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @return An Stream of type T whose elements are sorted according to a key.
+     * @see #orderBy(Selector)
+     */
+    OrderedStream<T> orderByInt(SelectorInteger<T> keySelector);
+
+    /**
+     * Sorts the elements of a sequence in ascending order according to a {@code long} key.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @return An Stream of type T whose elements are sorted according to a key.
+     * @see #orderByInt(SelectorInteger)
+     */
+    OrderedStream<T> orderByLong(SelectorLong<T> keySelector);
+
+    /**
+     * Sorts the elements of a sequence in descending order according to an {@code int} key.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @return An Stream of type T whose elements are sorted according to a key.
+     * @see #orderByInt(SelectorInteger)
+     */
+    OrderedStream<T> orderByDescendingInt(SelectorInteger<T> keySelector);
+
+    /**
+     * Sorts the elements of a sequence in descending order according to a {@code long} key.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @return An Stream of type T whose elements are sorted according to a key.
+     * @see #orderByInt(SelectorInteger)
+     */
+    OrderedStream<T> orderByDescendingLong(SelectorLong<T> keySelector);
+
     /**
      * Reverses the order of the sequence.
      *
@@ -106,6 +354,40 @@ public interface Stream<T> extends Iterable<T> {
      */
     Stream<T> reverse();
 
+    /**
+     * Buffers the elements of the sequence as they are first read, so later iterations replay them
+     * instead of evaluating the source again. Several iterators may read the stream at the same time.
+     *
+     * @return An Stream of type T that evaluates the input sequence at most once.
+     */
+    Stream<T> memoize();
+
+    /**
+     * Runs the rest of the query on multiple threads of a shared {@link ForkJoinPool}, with a split
+     * threshold chosen from the size of the sequence and the parallelism of the pool.
+     *
+     * @return An Stream of type T that evaluates the input sequence in parallel.
+     * @see #parallel(ForkJoinPool, int)
+     */
+    Stream<T> parallel();
+
+    /**
+     * Runs the rest of the query on multiple threads of {@code pool}. The sequence is split into chunks
+     * of {@code threshold} elements; arrays and random access lists are split in place, other sources
+     * are buffered first.
+     * <p>
+     * where, select and selectMany run on each chunk. count, sum, average, min, max, aggregate and
+     * groupAggregate with a combiner, countBy, sumBy, toList, groupBy and distinct combine the chunk
+     * results in encounter order. Any other operation reads the parallel results sequentially. Functions
+     * passed to the query must be safe to call from several threads at once.
+     *
+     * @param pool      The pool that runs the chunks.
+     * @param threshold The number of elements in each chunk.
+     * @return An Stream of type T that evaluates the input sequence in parallel.
+     * @throws IllegalArgumentException if threshold is not greater than 0.
+     */
+    Stream<T> parallel(ForkJoinPool pool, int threshold);
+
     /**
      * Applies an accumulator function over a sequence.
      * The specified seed value is used as the initial accumulator value,
@@ -118,6 +400,21 @@ public interface Stream<T> extends Iterable<T> {
      */
     <TAccumulate> TAccumulate aggregate(TAccumulate seed, Aggregator<T, TAccumulate> aggregator);
 
+    /**
+     * Applies an accumulator function over a sequence that may be split into chunks.
+     * Each chunk is accumulated from the seed value, and the chunk results are merged in encounter
+     * order with the combiner function. The seed must therefore be an identity for the combiner.
+     * A sequential stream accumulates every element into a single value and never calls the combiner.
+     *
+     * @param seed          The initial accumulator value of each chunk.
+     * @param aggregator    An accumulator function to be invoked on each element.
+     * @param combiner      A function that merges the accumulator values of two adjacent chunks.
+     * @param <TAccumulate> The type of the accumulator value.
+     * @return The transformed final accumulator value.
+     * @see #parallel()
+     */
+    <TAccumulate> TAccumulate aggregate(TAccumulate seed, Aggregator<T, TAccumulate> aggregator, Aggregator<TAccumulate, TAccumulate> combiner);
+
     /**
      * Returns a specified number of contiguous elements from the start of a sequence.
      *
@@ -136,11 +433,180 @@ public interface Stream<T> extends Iterable<T> {
 
     /**
      * Returns distinct elements from a sequence by using the object {@code equals()} to compare values.
+     * Each iteration tracks the elements it has seen in a set of its own, presized from the size of the
+     * sequence when it is known.
      *
      * @return An Stream of type T that contains distinct elements from the source sequence.
      */
     Stream<T> distinct();
 
+    /**
+     * Returns the first element of each distinct key from a sequence, using the key {@code equals()} to compare
+     * keys. Keys selected by a {@link SelectorInteger} or {@link SelectorLong} are kept unboxed, in open-addressing
+     * sets.
+     *
+     * @param keySelector A function to extract the key for each element.
+     * @param <TKey>      The type of the key returned by keySelector.
+     * @return An Stream of type T that contains the first element of each distinct key, in their original order.
+     */
+    <TKey> Stream<T> distinctBy(Selector<T, TKey> keySelector);
+
+    /**
+     * Returns the first element of each distinct {@code int} key from a sequence, keeping the keys unboxed.
+     *
+     * @param keySelector A function to extract the key for each element.
+     * @return An Stream of type T that contains the first element of each distinct key, in their original order.
+     * @see #distinctBy(Selector)
+     */
+    Stream<T> distinctByInt(SelectorInteger<T> keySelector);
+
+    /**
+     * Returns the first element of each distinct {@code long} key from a sequence, keeping the keys unboxed.
+     *
+     * @param keySelector A function to extract the key for each element.
+     * @return An Stream of type T that contains the first element of each distinct key, in their original order.
+     * @see #distinctBy(Selector)
+     */
+    Stream<T> distinctByLong(SelectorLong<T> keySelector);
+
+    /**
+     * Concatenates two sequences. The second sequence is not read until the first one is exhausted.
+     *
+     * @param second The sequence to concatenate to this sequence.
+     * @return An Stream of type T that contains the elements of this sequence followed by those of the second.
+     */
+    Stream<T> concat(Iterable<T> second);
+
+    /**
+     * Produces the set union of two sequences by using the object {@code equals()} to compare values: the
+     * distinct elements of this sequence, then those of the second sequence that are not in this one.
+     *
+     * @param second The sequence whose distinct elements form the second part of the union.
+     * @return An Stream of type T that contains the elements from both sequences, excluding duplicates.
+     */
+    Stream<T> union(Iterable<T> second);
+
+    /**
+     * Produces the set union of two sequences according to a key: the first element of each distinct key,
+     * reading this sequence, then the second one.
+     *
+     * @param second      The sequence whose elements form the second part of the union.
+     * @param keySelector A function to extract the key for each element.
+     * @param <TKey>      The type of the key returned by keySelector.
+     * @return An Stream of type T that contains the first element of each distinct key of both sequences.
+     */
+    <TKey> Stream<T> union(Iterable<T> second, Selector<T, TKey> keySelector);
+
+    /**
+     * Produces the set union of two sequences by using an EqualityComparator to compare values. Values that
+     * cannot be hashed are compared against every distinct value found before them, in O(n * m) time.
+     *
+     * @param second     The sequence whose distinct elements form the second part of the union.
+     * @param comparator An EqualityComparator to compare values.
+     * @return An Stream of type T that contains the elements from both sequences, excluding duplicates.
+     */
+    Stream<T> union(Iterable<T> second, EqualityComparator<T> comparator);
+
+    /**
+     * Produces the set intersection of two sequences by using the object {@code equals()} to compare values:
+     * the distinct elements of this sequence that are also in the second one, in the order of this sequence.
+     * Each iteration hashes the second sequence once, reads this sequence once and filters it
+     * lazily; a second sequence that is a {@link java.util.Set} is queried directly, without copying it.
+     *
+     * @param second The sequence whose elements are looked up.
+     * @return An Stream of type T that contains the elements that form the set intersection of two sequences.
+     */
+    Stream<T> intersect(Iterable<T> second);
+
+    /**
+     * Produces the set intersection of two sequences according to a key: the first element of this sequence
+     * for each key that is also the key of an element of the second sequence.
+     *
+     * @param second      The sequence whose keys are looked up.
+     * @param keySelector A function to extract the key for each element.
+     * @param <TKey>      The type of the key returned by keySelector.
+     * @return An Stream of type T that contains the elements that form the set intersection of two sequences.
+     * @see #intersect(Iterable)
+     */
+    <TKey> Stream<T> intersect(Iterable<T> second, Selector<T, TKey> keySelector);
+
+    /**
+     * Produces the set intersection of two sequences by using an EqualityComparator to compare values, in
+     * O(n * m) time.
+     *
+     * @param second     The sequence whose elements are looked up.
+     * @param comparator An EqualityComparator to compare values.
+     * @return An Stream of type T that contains the elements that form the set intersection of two sequences.
+     * @see #intersect(Iterable)
+     */
+    Stream<T> intersect(Iterable<T> second, EqualityComparator<T> comparator);
+
+    /**
+     * Produces the set difference of two sequences by using the object {@code equals()} to compare values:
+     * the distinct elements of this sequence that are not in the second one, in the order of this sequence.
+     * Each iteration hashes the second sequence once, reads this sequence once and filters it
+     * lazily; a second sequence that is a {@link java.util.Set} is queried directly, without copying it.
+     *
+     * @param second The sequence whose elements are removed.
+     * @return An Stream of type T that contains the set difference of the elements of two sequences.
+     */
+    Stream<T> except(Iterable<T> second);
+
+    /**
+     * Produces the set difference of two sequences according to a key: the first element of this sequence
+     * for each key that is not the key of an element of the second sequence.
+     *
+     * @param second      The sequence whose keys are removed.
+     * @param keySelector A function to extract the key for each element.
+     * @param <TKey>      The type of the key returned by keySelector.
+     * @return An Stream of type T that contains the set difference of the elements of two sequences.
+     * @see #except(Iterable)
+     */
+    <TKey> Stream<T> except(Iterable<T> second, Selector<T, TKey> keySelector);
+
+    /**
+     * Produces the set difference of two sequences by using an EqualityComparator to compare values, in
+     * O(n * m) time.
+     *
+     * @param second     The sequence whose elements are removed.
+     * @param comparator An EqualityComparator to compare values.
+     * @return An Stream of type T that contains the set difference of the elements of two sequences.
+     * @see #except(Iterable)
+     */
+    Stream<T> except(Iterable<T> second, EqualityComparator<T> comparator);
+
+    /**
+     * Returns distinct elements from a sequence in bounded memory, for inputs too large to keep a set of every
+     * element. Elements are tracked by a 64-bit hash in a Bloom filter sized once from
+     * {@code expectedSize} and {@code falsePositiveRate}: no element is returned twice, but a distinct element
+     * is dropped with about that probability, and more often once more than {@code expectedSize} distinct
+     * elements have been seen. Each iteration gets a filter of its own.
+     * <p>
+     * Numbers, characters and strings are hashed by value. Any other element is hashed from its
+     * {@code hashCode()}, so of two distinct elements of the same class with equal hash codes, the second is
+     * always dropped, whatever the filter size.
+     *
+     * @param expectedSize      The number of distinct elements the filter is sized for.
+     * @param falsePositiveRate The probability of dropping a distinct element, between 0 and 1, exclusive.
+     * @return An Stream of type T that contains distinct elements from the source sequence.
+     * @throws IllegalArgumentException if expectedSize is not greater than 0 or falsePositiveRate is out of range.
+     */
+    Stream<T> distinct(int expectedSize, double falsePositiveRate);
+
+    /**
+     * Returns the first element of each distinct key from a sequence in bounded memory, tracking keys in a
+     * Bloom filter.
+     *
+     * @param keySelector       A function to extract the key for each element.
+     * @param expectedSize      The number of distinct keys the filter is sized for.
+     * @param falsePositiveRate The probability of dropping the first element of a new key, between 0 and 1, exclusive.
+     * @param <TKey>            The type of the key returned by keySelector.
+     * @return An Stream of type T that contains the first element of each distinct key, in their original order.
+     * @throws IllegalArgumentException if expectedSize is not greater than 0 or falsePositiveRate is out of range.
+     * @see #distinct(int, double)
+     */
+    <TKey> Stream<T> distinctBy(Selector<T, TKey> keySelector, int expectedSize, double falsePositiveRate);
+
     /**
      * Computes the sum of the sequence of Byte values that are obtained by invoking
      * a transform function on each element of the input sequence.
@@ -180,6 +646,8 @@ public interface Stream<T> extends Iterable<T> {
     /**
      * Computes the sum of the sequence of Float values that are obtained by invoking
      * a transform function on each element of the input sequence.
+     * The values are summed as doubles, with compensation for lost low-order bits, and the sum is rounded
+     * to a float.
      *
      * @param selector A transform function to apply to each element.
      * @return The sum of the projected values.
@@ -189,6 +657,7 @@ public interface Stream<T> extends Iterable<T> {
     /**
      * Computes the sum of the sequence of Double values that are obtained by invoking
      * a transform function on each element of the input sequence.
+     * The values are summed with compensation for lost low-order bits, as in {@link DoubleStream#sum()}.
      *
      * @param selector A transform function to apply to each element.
      * @return The sum of the projected values.
@@ -321,6 +790,88 @@ public interface Stream<T> extends Iterable<T> {
      */
     <TResult> T max(Selector<T, TResult> selector, Comparator<TResult> comparator);
 
+    /**
+     * Returns the element with the smallest key, along with that key. Ties resolve to the first such element.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @param <TKey>      The type of the key returned by keySelector.
+     * @return An entry whose key is the min key and whose value is the element that produced it.
+     * @throws NoSuchElementException if the sequence is empty.
+     */
+    <TKey extends Comparable<TKey>> Map.Entry<TKey, T> minBy(Selector<T, TKey> keySelector);
+
+    /**
+     * Returns the element with the smallest key, along with that key. Ties resolve to the first such element.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @param comparator  A comparator function that defines key ordering.
+     * @param <TKey>      The type of the key returned by keySelector.
+     * @return An entry whose key is the min key and whose value is the element that produced it.
+     * @throws NoSuchElementException if the sequence is empty.
+     */
+    <TKey> Map.Entry<TKey, T> minBy(Selector<T, TKey> keySelector, Comparator<TKey> comparator);
+
+    /**
+     * Returns the element with the largest key, along with that key. Ties resolve to the first such element.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @param <TKey>      The type of the key returned by keySelector.
+     * @return An entry whose key is the max key and whose value is the element that produced it.
+     * @throws NoSuchElementException if the sequence is empty.
+     */
+    <TKey extends Comparable<TKey>> Map.Entry<TKey, T> maxBy(Selector<T, TKey> keySelector);
+
+    /**
+     * Returns the element with the largest key, along with that key. Ties resolve to the first such element.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @param comparator  A comparator function that defines key ordering.
+     * @param <TKey>      The type of the key returned by keySelector.
+     * @return An entry whose key is the max key and whose value is the element that produced it.
+     * @throws NoSuchElementException if the sequence is empty.
+     */
+    <TKey> Map.Entry<TKey, T> maxBy(Selector<T, TKey> keySelector, Comparator<TKey> comparator);
+
+    /**
+     * Returns the element with the smallest {@code int} key, along with that key. Keys are compared as
+     * primitives. Ties resolve to the first such element.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @return An entry whose key is the min key and whose value is the element that produced it.
+     * @throws NoSuchElementException if the sequence is empty.
+     */
+    Map.Entry<Integer, T> minByInt(SelectorInteger<T> keySelector);
+
+    /**
+     * Returns the element with the smallest {@code long} key, along with that key. Keys are compared as
+     * primitives. Ties resolve to the first such element.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @return An entry whose key is the min key and whose value is the element that produced it.
+     * @throws NoSuchElementException if the sequence is empty.
+     */
+    Map.Entry<Long, T> minByLong(SelectorLong<T> keySelector);
+
+    /**
+     * Returns the element with the largest {@code int} key, along with that key. Keys are compared as
+     * primitives. Ties resolve to the first such element.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @return An entry whose key is the max key and whose value is the element that produced it.
+     * @throws NoSuchElementException if the sequence is empty.
+     */
+    Map.Entry<Integer, T> maxByInt(SelectorInteger<T> keySelector);
+
+    /**
+     * Returns the element with the largest {@code long} key, along with that key. Keys are compared as
+     * primitives. Ties resolve to the first such element.
+     *
+     * @param keySelector A function to extract a key from an element.
+     * @return An entry whose key is the max key and whose value is the element that produced it.
+     * @throws NoSuchElementException if the sequence is empty.
+     */
+    Map.Entry<Long, T> maxByLong(SelectorLong<T> keySelector);
+
     /**
      * Determines whether a sequence contains any elements.
      *
@@ -360,6 +911,25 @@ public interface Stream<T> extends Iterable<T> {
      */
     int count();
 
+    /**
+     * Returns the element at a specified index in a sequence.
+     *
+     * @param index The zero-based index of the element to retrieve.
+     * @return The element at the specified position in the sequence.
+     * @throws IndexOutOfBoundsException if index is less than 0 or not less than the number of elements in the sequence.
+     */
+    T elementAt(int index);
+
+    /**
+     * Returns the element at a specified index in a sequence or a default value if the index is out of range.
+     *
+     * @param index        The zero-based index of the element to retrieve.
+     * @param defaultValue The value to return if the index is out of range.
+     * @return {@code defaultValue} if the index is outside the bounds of the source sequence; otherwise,
+     * the element at the specified position in the source sequence.
+     */
+    T elementAtOrDefault(int index, T defaultValue);
+
     /**
      * Returns the first element of a sequence; this method throws an exception if the sequence is empty.
      *
@@ -541,4 +1111,47 @@ public interface Stream<T> extends Iterable<T> {
      * @return A Map that contains keys and values derived from the Stream.
      */
     <TKey, TValue> Map<TKey, TValue> toMap(Selector<T, TKey> keySelector, Selector<T, TValue> valueSelector);
+
+    /**
+     * Creates a Lookup&lt;TKey, T&gt; from a Stream&lt;T&gt; according to a specified key selector function.
+     * Unlike groupBy, which groups the source again on every iteration, the Lookup is built once and can then
+     * be queried by key in constant time. Keys selected by a {@link SelectorInteger} or {@link SelectorLong} are
+     * hashed unboxed, as in {@link #groupBy(Selector)}.
+     *
+     * @param keySelector A function to extract a key from each element.
+     * @param <TKey>      The type of the key returned by keySelector.
+     * @return A Lookup that indexes the elements of the Stream by key.
+     */
+    <TKey> Lookup<TKey, T> toLookup(Selector<T, TKey> keySelector);
+
+    /**
+     * Creates a Lookup&lt;Integer, T&gt; from a Stream&lt;T&gt; according to an {@code int} key, hashed unboxed.
+     *
+     * @param keySelector A function to extract a key from each element.
+     * @return A Lookup that indexes the elements of the Stream by key.
+     * @see #toLookup(Selector)
+     */
+    Lookup<Integer, T> toLookupInt(SelectorInteger<T> keySelector);
+
+    /**
+     * Creates a Lookup&lt;Long, T&gt; from a Stream&lt;T&gt; according to a {@code long} key, hashed unboxed.
+     *
+     * @param keySelector A function to extract a key from each element.
+     * @return A Lookup that indexes the elements of the Stream by key.
+     * @see #toLookup(Selector)
+     */
+    Lookup<Long, T> toLookupLong(SelectorLong<T> keySelector);
+
+    /**
+     * Creates a Lookup&lt;TKey, TElement&gt; from a Stream&lt;T&gt; according to specified key selector and element
+     * selector functions.
+     *
+     * @param keySelector     A function to extract a key from each element.
+     * @param elementSelector A transform function to produce a result element from each element.
+     * @param <TKey>          The type of the key returned by keySelector.
+     * @param <TElement>      The type of the element returned by elementSelector.
+     * @return A Lookup that indexes the elements of the Stream by key.
+     * @see #toLookup(Selector)
+     */
+    <TKey, TElement> Lookup<TKey, TElement> toLookup(Selector<T, TKey> keySelector, Selector<T, TElement> elementSelector);
 }
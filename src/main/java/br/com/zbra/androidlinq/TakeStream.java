@@ -1,5 +1,7 @@
 package br.com.zbra.androidlinq;
 
+import br.com.zbra.androidlinq.delegate.Predicate;
+
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -16,21 +18,81 @@ class TakeStream<T> extends AbstractStream<T> {
     }
 
     @Override
-    public int count() {
-        return count == 0 ? 0 : Math.min(count, stream.count());
+    protected int characteristics() {
+        return stream.characteristics();
+    }
+
+    @Override
+    protected int exactSize() {
+        int size = stream.exactSize();
+        return size >= 0 ? Math.min(count, size) : -1;
+    }
+
+    @Override
+    protected int maxSize() {
+        return Math.min(count, stream.maxSize());
+    }
+
+    /**
+     * Fuses consecutive takes: take(n).take(m) is take(min(n, m)).
+     */
+    @Override
+    public Stream<T> take(int count) {
+        if (count < 0) throw new IllegalArgumentException("count must be greater than 0: " + count);
+        return new TakeStream<>(stream, Math.min(this.count, count));
+    }
+
+    @Override
+    protected boolean forEachWhile(Predicate<T> action) {
+        if (count == 0) return true;
+        TakeAction<T> takeAction = new TakeAction<>(action, count);
+        return stream.forEachWhile(takeAction) || !takeAction.stopped;
+    }
+
+    @Override
+    protected T get(int index) {
+        return stream.get(index);
     }
 
     @Override
     public Iterator<T> iterator() {
+        if (hasCharacteristics(INDEXED))
+            return new IndexedIterator<>(this, false);
         return new TakeIterator<>(stream.iterator(), count);
     }
 
     @Override
     protected Iterator<T> reverseIterator() {
-        return super.reverseIterator();
+        int size = stream.exactSize();
+        if (size < 0 || hasCharacteristics(INDEXED))
+            return super.reverseIterator();
+
+        // the last elements of a sized source are the first of its reverse
+        return new SkipStream.SkipIterator<>(stream.reverseIterator(), Math.max(0, size - count));
+    }
+
+    private static class TakeAction<T> implements Predicate<T> {
+        private final Predicate<T> action;
+        private final int count;
+        private int taken;
+        private boolean stopped;
+
+        TakeAction(Predicate<T> action, int count) {
+            this.action = action;
+            this.count = count;
+        }
+
+        @Override
+        public boolean apply(T value) {
+            if (!action.apply(value)) {
+                stopped = true;
+                return false;
+            }
+            return ++taken < count;
+        }
     }
 
-    private static class TakeIterator<T> implements Iterator<T> {
+    static class TakeIterator<T> implements Iterator<T> {
         private long index = 0;
         private final long count;
         private final Iterator<T> wrapped;
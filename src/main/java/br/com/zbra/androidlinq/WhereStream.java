@@ -2,6 +2,7 @@ package br.com.zbra.androidlinq;
 
 import br.com.zbra.androidlinq.delegate.Predicate;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -14,6 +15,34 @@ class WhereStream<T> extends AbstractStream<T> {
         this.predicate = predicate;
     }
 
+    @Override
+    protected int characteristics() {
+        return stream.characteristics() & ~(SIZED | INDEXED);
+    }
+
+    @Override
+    protected int maxSize() {
+        return stream.maxSize();
+    }
+
+    /**
+     * Fuses consecutive filters into a single stage that tests every predicate in order.
+     */
+    @Override
+    public Stream<T> where(Predicate<T> predicate) {
+        return new WhereStream<>(stream, AllPredicate.of(this.predicate, predicate));
+    }
+
+    @Override
+    protected boolean forEachWhile(final Predicate<T> action) {
+        return stream.forEachWhile(new Predicate<T>() {
+            @Override
+            public boolean apply(T value) {
+                return !predicate.apply(value) || action.apply(value);
+            }
+        });
+    }
+
     @Override
     public Iterator<T> iterator() {
         return new WhereIterator<>(stream.iterator(), predicate);
@@ -24,11 +53,40 @@ class WhereStream<T> extends AbstractStream<T> {
         return new WhereIterator<>(stream.reverseIterator(), predicate);
     }
 
+    private static class AllPredicate<T> implements Predicate<T> {
+        private final Predicate<T>[] predicates;
+
+        private AllPredicate(Predicate<T>[] predicates) {
+            this.predicates = predicates;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Predicate<T> of(Predicate<T> first, Predicate<T> second) {
+            Predicate<T>[] predicates;
+            if (first instanceof AllPredicate) {
+                Predicate<T>[] fused = ((AllPredicate<T>) first).predicates;
+                predicates = Arrays.copyOf(fused, fused.length + 1);
+            } else {
+                predicates = (Predicate<T>[]) new Predicate<?>[] { first, null };
+            }
+            predicates[predicates.length - 1] = second;
+            return new AllPredicate<>(predicates);
+        }
+
+        @Override
+        public boolean apply(T value) {
+            for (Predicate<T> predicate : predicates)
+                if (!predicate.apply(value)) return false;
+            return true;
+        }
+    }
+
     private static class WhereIterator<T> implements Iterator<T> {
         private final Iterator<T> wrapped;
         private final Predicate<T> predicate;
 
         private T next;
+        private boolean hasNext;
         private boolean nextEvaluated;
 
         public WhereIterator(Iterator<T> wrapped, Predicate<T> predicate) {
@@ -39,19 +97,21 @@ class WhereStream<T> extends AbstractStream<T> {
         @Override
         public boolean hasNext() {
             evaluateNext();
-            return next != null;
+            return hasNext;
         }
 
         @Override
         public T next() {
             evaluateNext();
 
-            if (next == null)
+            if (!hasNext)
                 throw new NoSuchElementException();
 
             nextEvaluated = false;
 
-            return next;
+            T result = next;
+            next = null;
+            return result;
         }
 
         @Override
@@ -63,11 +123,13 @@ class WhereStream<T> extends AbstractStream<T> {
             if (nextEvaluated)
                 return;
 
-            next = null;
-            while (wrapped.hasNext() && next == null) {
+            hasNext = false;
+            while (!hasNext && wrapped.hasNext()) {
                 T entry = wrapped.next();
-                if (predicate.apply(entry))
+                if (predicate.apply(entry)) {
                     next = entry;
+                    hasNext = true;
+                }
             }
 
             nextEvaluated = true;
@@ -0,0 +1,5 @@
+package br.com.zbra.androidlinq.delegate;
+
+public interface JoinSelector<TOuter, TInner, TResult> {
+    TResult select(TOuter outer, TInner inner);
+}
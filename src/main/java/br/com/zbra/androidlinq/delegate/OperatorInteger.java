@@ -0,0 +1,5 @@
+package br.com.zbra.androidlinq.delegate;
+
+public interface OperatorInteger {
+    int apply(int value);
+}
@@ -0,0 +1,5 @@
+package br.com.zbra.androidlinq.delegate;
+
+public interface OperatorLong {
+    long apply(long value);
+}
@@ -6,6 +6,7 @@ import br.com.zbra.androidlinq.exception.MultipleElementsFoundException
 import java.math.MathContext
 import java.math.RoundingMode
 
+import static br.com.zbra.androidlinq.Linq.mapStream as mapStream
 import static br.com.zbra.androidlinq.Linq.stream as stream
 
 @SuppressWarnings("GroovyUnusedDeclaration")
@@ -57,6 +58,66 @@ class StreamTest extends GroovyTestCase {
         })
     }
 
+    void testSelectInt() {
+        def integers = 0..9
+        def intStream = stream(integers).selectInt({ n -> n * 2 } as SelectorInteger)
+
+        assert intStream.toArray() == integers.collect { it * 2 } as int[]
+        assert intStream.where({ int n -> n > 10 }).toArray() == [12, 14, 16, 18] as int[]
+        assert intStream.map({ int n -> n + 1 }).toArray() == integers.collect { it * 2 + 1 } as int[]
+        assert intStream.sum() == 90
+        assert intStream.min() == 0
+        assert intStream.max() == 18
+        assert intStream.average() == 9
+        assert intStream.count() == 10
+
+        def empty = stream([]).selectInt({ n -> n } as SelectorInteger)
+        assert empty.sum() == 0
+        assert empty.count() == 0
+        assert empty.toArray() == [] as int[]
+        shouldFail(NoSuchElementException.class, { empty.min() })
+        shouldFail(NoSuchElementException.class, { empty.max() })
+        shouldFail(ArithmeticException.class, { empty.average() })
+
+        // sums wider than int wrap like Integer arithmetic, but the average does not overflow
+        def large = stream([Integer.MAX_VALUE, Integer.MAX_VALUE]).selectInt({ n -> n } as SelectorInteger)
+        assert large.sum() == -2
+        assert large.average() == Integer.MAX_VALUE
+    }
+
+    void testSelectLong() {
+        def integers = 0..9
+        def longStream = stream(integers).selectLong({ n -> n * 2L } as SelectorLong)
+
+        assert longStream.toArray() == integers.collect { it * 2L } as long[]
+        assert longStream.where({ long n -> n > 10 }).toArray() == [12L, 14L, 16L, 18L] as long[]
+        assert longStream.map({ long n -> n + 1 }).toArray() == integers.collect { it * 2L + 1 } as long[]
+        assert longStream.sum() == 90L
+        assert longStream.min() == 0L
+        assert longStream.max() == 18L
+        assert longStream.average() == 9L
+        assert longStream.count() == 10
+
+        shouldFail(NoSuchElementException.class, { stream([]).selectLong({ n -> n } as SelectorLong).min() })
+    }
+
+    void testSelectDouble() {
+        def integers = 0..9
+        def doubleStream = stream(integers).selectDouble({ n -> n / 2d } as SelectorDouble)
+
+        assert doubleStream.toArray() == integers.collect { it / 2d } as double[]
+        assert doubleStream.where({ double n -> n > 3 }).toArray() == [3.5d, 4d, 4.5d] as double[]
+        assert doubleStream.map({ double n -> n * 2 }).toArray() == integers as double[]
+        assert doubleStream.sum() == 22.5d
+        assert doubleStream.min() == 0d
+        assert doubleStream.max() == 4.5d
+        assert doubleStream.average() == 2.25d
+        assert doubleStream.count() == 10
+
+        assert Double.isNaN(stream([]).selectDouble({ n -> n } as SelectorDouble).average())
+        shouldFail(NoSuchElementException.class, { stream([]).selectDouble({ n -> n } as SelectorDouble).max() })
+    }
+
     void testGroupBy() {
         def result
         def integers = 0..9
@@ -100,6 +161,106 @@ class StreamTest extends GroovyTestCase {
     }
 
     @SuppressWarnings("GroovyAssignabilityCheck")
+    void testToLookup() {
+        def words = ["apple", "bob", "avocado", null, "cherry", "banana", "blue"]
+        def keysRead = 0
+        def lookup = stream(words).toLookup({ w -> keysRead++; w?.charAt(0) } as Selector)
+
+        assert keysRead == 7
+        assert lookup.count() == 4
+        assert lookup.collect { it.key } == ['a' as char, 'b' as char, null, 'c' as char]
+        assert lookup.get('a' as char).toList() == ["apple", "avocado"]
+        assert lookup.get('b' as char).toList() == ["bob", "banana", "blue"]
+        assert lookup.get('b' as char).reverse().toList() == ["blue", "banana", "bob"]
+        assert lookup.get(null).toList() == [null]
+        assert lookup.get('z' as char).toList() == []
+        assert lookup.contains('c' as char)
+        assert lookup.contains(null)
+        assert !lookup.contains('z' as char)
+        assert stream(lookup).select({ g -> g.elements.count() } as Selector).toList() == [2, 3, 1, 1]
+
+        // the lookup is built once: neither querying it nor changing the source reads the source again
+        words.add("apricot")
+        assert lookup.get('a' as char).count() == 2
+        assert keysRead == 7
+
+        def lengths = stream(words).where({ w -> w != null } as Predicate).toLookup({ w -> w.length() } as Selector, { w -> w.toUpperCase() } as Selector)
+        assert lengths.get(4).toList() == ["BLUE"]
+        assert lengths.get(7).toList() == ["AVOCADO", "APRICOT"]
+
+        assert stream([]).toLookup({ w -> w } as Selector).count() == 0
+    }
+
+    void testGroupAggregate() {
+        def orders = [[customer: "ann", total: 10], [customer: "bob", total: 5], [customer: "ann", total: 7], [customer: null, total: 1]]
+        def byCustomer = { o -> o.customer } as Selector
+
+        def maxima = stream(orders).groupAggregate(byCustomer, 0, { max, o -> Math.max(max, o.total) } as Aggregator)
+        assert maxima == ["ann": 10, "bob": 5, (null): 1]
+        assert maxima.keySet().toList() == ["ann", "bob", null]
+
+        assert stream(orders).countBy(byCustomer) == ["ann": 2, "bob": 1, (null): 1]
+        assert stream(orders).sumBy(byCustomer, { o -> (long) o.total } as SelectorLong) == ["ann": 17L, "bob": 5L, (null): 1L]
+        assert stream([]).countBy(byCustomer) == [:]
+
+        // chunks are accumulated on their own and combined in encounter order
+        def numbers = (0..<100).toList()
+        def parity = { n -> n % 2 == 0 ? "even" : "odd" } as Selector
+        def parallel = stream(numbers).parallel(ParallelStream.defaultPool(), 7)
+        assert parallel.countBy(parity) == ["even": 50, "odd": 50]
+        assert parallel.sumBy(parity, { n -> (long) n } as SelectorLong) == ["even": 2450L, "odd": 2500L]
+        assert parallel.groupAggregate(parity, "", { s, n -> s + n % 10 } as Aggregator, { a, b -> a + b } as Aggregator) ==
+                stream(numbers).groupAggregate(parity, "", { s, n -> s + n % 10 } as Aggregator)
+    }
+
+    void testPrimitiveKeys() {
+        def numbers = (-3000..3000).toList() + [null, 0, null]
+        def intKey = { n -> n == null ? null : n.intdiv(3) } as SelectorInteger
+        def longKey = { n -> n == null ? null : (n.intdiv(3) as long) << 33 } as SelectorLong
+
+        def expected = stream(numbers).groupBy({ n -> n == null ? null : n.intdiv(3) } as Selector)
+                .select({ g -> [g.key, g.elements.toList()] } as Selector).toList()
+        assert stream(numbers).groupBy(intKey).select({ g -> [g.key, g.elements.toList()] } as Selector).toList() == expected
+        assert stream(numbers).groupBy(longKey).select({ g -> [g.key == null ? null : (int) (g.key >> 33), g.elements.toList()] } as Selector).toList() == expected
+
+        def lookup = stream(numbers).toLookup(intKey)
+        assert lookup.count() == 2002
+        assert lookup.get(0).toList() == [-2, -1, 0, 1, 2, 0]
+        assert lookup.get(null).toList() == [null, null]
+        assert lookup.contains(-1000) && !lookup.contains(1001)
+
+        assert stream(numbers).distinctBy(intKey).toList() == stream(numbers).distinctBy({ n -> n?.intdiv(3) } as Selector).toList()
+        def distinct = stream(numbers).distinctBy(longKey)
+        assert distinct.count() == 2002
+        assert distinct.count() == 2002
+        assert distinct.take(4).toList() == [-3000, -2999, -2996, -2993]
+        assert stream(["a", "bb", "cc", "d"]).distinctBy({ s -> s.length() } as Selector).toList() == ["a", "bb"]
+
+        // the typed methods reach the unboxed tables without a cast
+        assert stream(numbers).groupByInt({ n -> n == null ? null : n.intdiv(3) })
+                .select({ g -> [g.key, g.elements.toList()] } as Selector).toList() == expected
+        assert stream(numbers).groupByLong({ n -> n == null ? null : (n.intdiv(3) as long) << 33 }).count() == 2002
+        assert stream(numbers).toLookupInt({ n -> n == null ? null : n.intdiv(3) }).get(0).toList() == [-2, -1, 0, 1, 2, 0]
+        assert stream(numbers).toLookupLong({ n -> n == null ? null : (long) n }).get(3000L).toList() == [3000]
+        def distinctInt = stream(numbers).distinctByInt({ n -> n == null ? null : n.intdiv(3) })
+        assert distinctInt.firstOccurrence() instanceof DistinctStream.FirstIntOccurrence
+        assert distinctInt.toList() == stream(numbers).distinctBy(intKey).toList()
+        def distinctLong = stream(numbers).distinctByLong({ n -> n == null ? null : (n.intdiv(3) as long) << 33 })
+        assert distinctLong.firstOccurrence() instanceof DistinctStream.FirstLongOccurrence
+        assert distinctLong.count() == 2002
+
+        def map = new IntObjectMap<String>()
+        (0..<1000).each { assert map.put(it * 1024, "v$it".toString()) == null }
+        assert map.size() == 1000
+        assert map.put(0, "zero") == "v0"
+        assert map.get(0) == "zero" && map.get(999 * 1024) == "v999" && map.get(1) == null
+
+        def set = new LongSet()
+        assert set.add(0L) && !set.add(0L) && set.add(Long.MIN_VALUE) && set.add(-1L)
+        (1..<1000).each { assert set.add(it * (1L << 40)) }
+        assert set.size() == 1002 && set.contains(999L << 40) && !set.contains(1L)
+    }
+
     void testOrderBy() {
         def integers = 0..9
         def integersDescending = 9..0
@@ -205,6 +366,577 @@ class StreamTest extends GroovyTestCase {
                         .toList()
     }
 
+    void testOrderByStability() {
+        def random = new Random(7)
+        def items = (0..<1000).collect { [id: it, key: random.nextInt(50), sub: random.nextInt(5)] }
+
+        // ties keep their source order, whether the stream is fully sorted or partially consumed
+        def expected = items.sort(false) { it.key }
+        assert stream(items).orderBy({ n -> n.key }).toList() == expected
+        assert stream(items).orderBy({ n -> n.key }).take(20).toList() == expected.take(20)
+        assert stream(items).orderBy({ n -> n.key }).first() == expected.first()
+
+        def expectedThenBy = items.sort(false) { a, b -> a.key <=> b.key ?: b.sub <=> a.sub }
+        def ordered = stream(items).orderBy({ n -> n.key }).thenByDescending({ n -> n.sub })
+        assert ordered.toList() == expectedThenBy
+        assert ordered.take(50).toList() == expectedThenBy.take(50)
+        assert ordered.select({ n -> n }).toList() == expectedThenBy
+
+        assert stream([]).orderBy({ n -> n }).take(5).toList() == []
+    }
+
+    void testOrderByKeyCaching() {
+        def random = new Random(11)
+        def items = (0..<500).collect { [id: it, key: random.nextInt(20) - 10, name: "n" + random.nextInt(30)] }
+
+        // each key selector runs once per element, not once per comparison
+        def keyCalls = 0
+        def nameCalls = 0
+        def sorted = stream(items)
+                .orderBy({ n -> keyCalls++; n.key })
+                .thenByDescending({ n -> nameCalls++; n.name })
+                .toList()
+        assert keyCalls == items.size()
+        assert nameCalls == items.size()
+        assert sorted == items.sort(false) { a, b -> a.key <=> b.key ?: b.name <=> a.name }
+
+        // primitive selectors are cached unboxed and keep their natural order
+        assert stream(items).orderBy({ n -> n.key } as SelectorInteger).toList() == items.sort(false) { it.key }
+        assert stream(items).orderByDescending({ n -> (long) n.key } as SelectorLong).toList() ==
+                items.sort(false) { a, b -> b.key <=> a.key }
+        assert stream(items).orderBy({ n -> n.key / 3d } as SelectorDouble).thenBy({ n -> n.id } as SelectorInteger).toList() ==
+                items.sort(false) { a, b -> a.key / 3d <=> b.key / 3d ?: a.id <=> b.id }
+    }
+
+    void testOrderByIntegralKeys() {
+        def random = new Random(3)
+        def wide = (0..<2000).collect { [id: it, key: random.nextInt(), group: random.nextInt(4)] }
+        def narrow = (0..<2000).collect { [id: it, key: random.nextInt(10) - 5, group: random.nextInt(4)] }
+        def extremes = [Long.MAX_VALUE, 0L, Long.MIN_VALUE, -1L, 1L, Long.MIN_VALUE + 1, Long.MAX_VALUE - 1]
+
+        for (items in [wide, narrow]) {
+            def ascending = items.sort(false) { it.key }
+            def descending = items.sort(false) { a, b -> b.key <=> a.key }
+
+            assert stream(items).orderBy({ n -> n.key } as SelectorInteger).toList() == ascending
+            assert stream(items).orderByDescending({ n -> n.key } as SelectorInteger).toList() == descending
+            assert stream(items).orderBy({ n -> (long) n.key } as SelectorLong).toList() == ascending
+            assert stream(items).orderByDescending({ n -> (long) n.key } as SelectorLong).toList() == descending
+
+            // iteration, reverse and thenBy chains
+            def ordered = stream(items).orderBy({ n -> n.group } as SelectorInteger).thenByDescending({ n -> n.key } as SelectorInteger)
+            def expected = items.sort(false) { a, b -> a.group <=> b.group ?: b.key <=> a.key }
+            assert ordered.select({ n -> n }).toList() == expected
+            assert ordered.take(10).toList() == expected.take(10)
+            assert ordered.reverse().toList() == items.sort(false) { a, b -> b.group <=> a.group ?: a.key <=> b.key }
+        }
+
+        assert stream(extremes).orderBy({ n -> n } as SelectorLong).toList() == extremes.sort(false)
+        assert stream(extremes).orderByDescending({ n -> n } as SelectorLong).toList() == extremes.sort(false).reverse()
+        assert stream(narrow).orderBy({ n -> (short) n.key } as SelectorShort).toList() == narrow.sort(false) { it.key }
+        assert stream(narrow).orderBy({ n -> (byte) n.key } as SelectorByte).toList() == narrow.sort(false) { it.key }
+
+        // the typed methods reach the integral keys without a cast
+        def typed = stream(wide).orderByInt({ n -> n.group }).thenByDescendingLong({ n -> (long) n.key })
+        assert typed.sortKeys.every { it.isIntegral() }
+        assert typed.toList() == wide.sort(false) { a, b -> a.group <=> b.group ?: b.key <=> a.key }
+        assert stream(wide).orderByDescendingInt({ n -> n.key }).thenByInt({ n -> n.id }).toList() ==
+                wide.sort(false) { a, b -> b.key <=> a.key }
+        assert stream(extremes).orderByLong({ n -> n }).thenByLong({ n -> n }).toList() == extremes.sort(false)
+        assert stream(wide).orderByDescendingLong({ n -> (long) n.group }).sortKeys.every { it.isIntegral() }
+    }
+
+    void testOrderByCache() {
+        def items = [[id: 1, key: 3], [id: 2, key: 1], [id: 3, key: 2], [id: 4, key: 1], [id: 5, key: 3]]
+        def source = new ArrayList(items)
+        def keyCalls = 0
+        def ordered = stream(source).orderBy({ n -> keyCalls++; n.key }).cache()
+
+        assert ordered.select({ n -> n.id }).toList() == [2, 4, 3, 1, 5]
+        assert ordered.first().id == 2
+        assert ordered.elementAt(2).id == 3
+        assert ordered.count() == 5
+        assert ordered.toList().size() == 5
+
+        // the source is read and sorted only once
+        assert keyCalls == items.size()
+
+        // reverse iteration sorts the buffered elements by the inverted ordering once, so ties keep
+        // their source order, the same as without caching
+        def uncached = stream(items).orderBy({ n -> n.key })
+        assert ordered.reverse().select({ n -> n.id }).toList() == [1, 5, 3, 2, 4]
+        assert ordered.reverse().select({ n -> n.id }).toList() == uncached.reverse().select({ n -> n.id }).toList()
+        assert ordered.last().id == uncached.last().id
+        assert ordered.lastOrDefault(null).id == uncached.lastOrDefault(null).id
+        assert ordered.elementAt(3).id == uncached.elementAt(3).id
+        assert keyCalls == items.size() * 2
+
+        // changes to the source show up after invalidate()
+        source.add([id: 6, key: 0])
+        assert ordered.first().id == 2
+        ordered.invalidate()
+        assert ordered.first().id == 6
+        assert ordered.count() == 6
+        assert keyCalls == items.size() * 3 + 1
+
+        shouldFail(IndexOutOfBoundsException.class, { ordered.elementAt(6) })
+        shouldFail(IndexOutOfBoundsException.class, { ordered.elementAt(-1) })
+        assert ordered.last().id == 1
+    }
+
+    void testElementAt() {
+        def integers = 0..9
+
+        assert stream(integers).elementAt(0) == 0
+        assert stream(integers).elementAt(9) == 9
+        assert stream(integers as Integer[]).elementAt(4) == 4
+        assert stream(integers).where({ n -> n % 2 == 1 }).elementAt(2) == 5
+
+        shouldFail(IndexOutOfBoundsException.class, { stream(integers).elementAt(10) })
+        shouldFail(IndexOutOfBoundsException.class, { stream(integers).elementAt(-1) })
+        shouldFail(IndexOutOfBoundsException.class, { stream(integers as Integer[]).elementAt(10) })
+    }
+
+    void testMemoize() {
+        def evaluations = 0
+        def memoized = stream(0..9).where({ n -> evaluations++; n % 2 == 0 }).memoize()
+
+        // nothing is evaluated until the first read, and only as far as needed
+        assert evaluations == 0
+        assert memoized.any()
+        assert evaluations == 1
+
+        assert memoized.count() == 5
+        assert memoized.toList() == [0, 2, 4, 6, 8]
+        assert memoized.reverse().toList() == [8, 6, 4, 2, 0]
+        assert memoized.elementAt(3) == 6
+        assert memoized.memoize().is(memoized)
+        assert evaluations == 10
+
+        // interleaved iterators share the same buffer
+        def lazy = stream(0..4).select({ n -> evaluations++; n }).memoize()
+        evaluations = 0
+        def first = lazy.iterator()
+        def second = lazy.iterator()
+        assert first.next() == 0
+        assert second.next() == 0
+        assert second.next() == 1
+        assert first.next() == 1
+        assert first.next() == 2
+        assert evaluations == 3
+        assert lazy.toList() == 0..4
+        assert evaluations == 5
+
+        // once complete, sizes come from the buffer, not from a source that changed since
+        def source = new ArrayList(0..4)
+        def snapshot = stream(source).memoize()
+        assert snapshot.count() == 5
+        source.add(5)
+        assert snapshot.count() == 5
+        assert snapshot.exactSize() == 5
+        assert snapshot.any()
+        assert snapshot.toList() == 0..4
+        source.clear()
+        assert snapshot.exactSize() == 5
+        assert snapshot.any()
+
+        shouldFail(NoSuchElementException.class, { stream([]).memoize().iterator().next() })
+        shouldFail(IndexOutOfBoundsException.class, { memoized.elementAt(5) })
+    }
+
+    void testShortCircuit() {
+        def pulled = 0
+        def source = { ->
+            def iterator = (0..99).iterator()
+            [hasNext: { iterator.hasNext() }, next: { pulled++; iterator.next() }] as Iterator
+        } as Iterable
+
+        assert stream(source).where({ n -> n % 2 == 1 }).select({ n -> n * 10 }).take(3).toList() == [10, 30, 50]
+        assert pulled == 6
+
+        pulled = 0
+        assert stream(source).skip(5).selectMany({ n -> [n, n] }).first() == 5
+        assert pulled == 6
+
+        pulled = 0
+        assert stream(source).where({ n -> n > 10 }).any()
+        assert pulled == 12
+
+        // nulls are elements like any other
+        assert stream([null, 1, null]).where({ n -> true }).toList() == [null, 1, null]
+        assert stream([null, 1, null]).where({ n -> true }).iterator().toList() == [null, 1, null]
+        assert stream([null, 1]).where({ n -> n == null }).first() == null
+        assert stream([null]).any()
+        assert stream([[null], [], [null, null]]).selectMany({ n -> n }).count() == 3
+    }
+
+    void testFusion() {
+        def integers = 0..19
+
+        def where = stream(integers).where({ n -> n % 2 == 0 }).where({ n -> n % 3 == 0 })
+        assert where.class == WhereStream
+        assert where.stream.class != WhereStream
+        assert where.toList() == [0, 6, 12, 18]
+        assert where.reverse().toList() == [18, 12, 6, 0]
+
+        def select = stream(integers).select({ n -> n + 1 }).select({ n -> n * 10 }).select({ n -> "$n" })
+        assert select.stream.class != SelectStream
+        assert select.toList() == integers.collect { "${(it + 1) * 10}" }
+
+        def take = stream(integers).take(10).take(3).take(5)
+        assert take.stream.class != TakeStream
+        assert take.toList() == [0, 1, 2]
+
+        def skip = stream(integers).skip(5).skip(10)
+        assert skip.stream.class != SkipStream
+        assert skip.toList() == 15..19
+        assert stream(integers).skip(Integer.MAX_VALUE).skip(1).toList() == []
+
+        shouldFail(IllegalArgumentException.class, { stream(integers).take(1).take(-1) })
+        shouldFail(IllegalArgumentException.class, { stream(integers).skip(1).skip(-1) })
+    }
+
+    void testCharacteristics() {
+        def pulled = 0
+        def source = { ->
+            def iterator = (0..9).iterator()
+            [hasNext: { iterator.hasNext() }, next: { pulled++; iterator.next() }] as Iterator
+        } as Iterable
+
+        // sized sources answer count() and any() without iterating
+        def list = new ArrayList(0..9)
+        assert stream(list).exactSize() == 10
+        assert stream(list).select({ n -> n * 2 }).skip(3).take(5).exactSize() == 5
+        assert stream(list).skip(12).exactSize() == 0
+        assert stream(list).where({ n -> n > 4 }).exactSize() == -1
+        assert stream(list).where({ n -> n > 4 }).take(3).maxSize() == 3
+        assert stream(list).where({ n -> n > 4 }).count() == 5
+        assert stream(new HashSet(list)).hasCharacteristics(AbstractStream.SIZED | AbstractStream.DISTINCT)
+        assert stream([a: 1]).hasCharacteristics(AbstractStream.NONNULL)
+
+        assert stream(source).take(0).count() == 0
+        assert !stream(source).take(0).any()
+        assert stream(source).count() == 10
+        assert pulled == 10
+
+        // take no longer counts the whole source
+        pulled = 0
+        assert stream(source).take(3).count() == 3
+        assert pulled == 3
+
+        // flags follow the stages that preserve them
+        def ordered = stream(list).orderBy({ n -> -n })
+        assert ordered.hasCharacteristics(AbstractStream.SORTED | AbstractStream.SIZED)
+        assert ordered.where({ n -> n > 2 }).hasCharacteristics(AbstractStream.SORTED)
+        assert !ordered.select({ n -> n }).hasCharacteristics(AbstractStream.SORTED)
+        assert !ordered.reverse().hasCharacteristics(AbstractStream.SORTED)
+
+        // distinct() on a distinct source is a no-op
+        def distinct = stream([1, 2, 1, 3, 2]).distinct()
+        assert distinct.hasCharacteristics(AbstractStream.DISTINCT)
+        assert distinct.distinct().is(distinct)
+        assert distinct.where({ n -> n > 1 }).distinct().class == WhereStream
+        assert distinct.toList() == [1, 2, 3]
+        assert distinct.toList() == [1, 2, 3]
+        assert distinct.iterator().toList() == [1, 2, 3]
+        assert distinct.reverse().toList() == [3, 2, 1]
+        assert stream(list).groupBy({ n -> n % 3 } as Selector).distinct().count() == 3
+
+        // sets and comparator-based results that may hold elements equal by equals() are still deduplicated
+        def a1 = new String("a"), a2 = new String("a")
+        def identitySet = Collections.newSetFromMap(new IdentityHashMap())
+        identitySet.addAll([a1, a2])
+        assert stream(identitySet).distinct().toList() == ["a"]
+        def byIdentity = { x, y -> x.is(y) } as EqualityComparator
+        assert stream([a1]).union([a2], byIdentity).count() == 2
+        assert stream([a1]).union([a2], byIdentity).distinct().count() == 1
+        assert stream([a1, a2]).except([], byIdentity).distinct().count() == 1
+        assert stream(new TreeSet(list)).distinct().class == DistinctStream
+
+        assert stream(list).toMap({ n -> n }).size() == 10
+    }
+
+    void testRandomAccess() {
+        def selected = 0
+        def list = new ArrayList(0..99999)
+        def page = stream(list).select({ n -> selected++; n * 2 }).skip(500 * 20).take(20)
+
+        // a page only touches its own elements
+        assert page.hasCharacteristics(AbstractStream.INDEXED)
+        assert page.toList() == (10000..10019).collect { it * 2 }
+        assert selected == 20
+
+        selected = 0
+        assert page.iterator().toList() == (10000..10019).collect { it * 2 }
+        assert page.reverse().toList() == (10019..10000).collect { it * 2 }
+        assert page.last() == 20038
+        assert page.elementAt(3) == 20006
+        assert page.elementAtOrDefault(20, -1) == -1
+        assert page.elementAtOrDefault(-1, -1) == -1
+        assert page.reverse().elementAt(0) == 20038
+        assert selected == 20 + 20 + 1 + 1 + 1
+        shouldFail(IndexOutOfBoundsException.class, { page.elementAt(20) })
+
+        // the same queries over a sequential list, an array and a plain iterable
+        [new LinkedList(0..9), (0..9) as Integer[], { -> (0..9).iterator() } as Iterable].each { source ->
+            def s = stream(source).skip(2).take(5)
+            assert s.toList() == [2, 3, 4, 5, 6]
+            assert s.iterator().toList() == [2, 3, 4, 5, 6]
+            assert s.reverse().toList() == [6, 5, 4, 3, 2]
+            assert s.last() == 6
+            assert s.lastOrDefault(-1) == 6
+            assert s.elementAt(4) == 6
+            assert s.elementAtOrDefault(5, -1) == -1
+            assert stream(source).skip(10).lastOrDefault(-1) == -1
+            shouldFail(NoSuchElementException.class, { stream(source).skip(10).last() })
+        }
+        assert !stream(new LinkedList(0..9)).hasCharacteristics(AbstractStream.INDEXED)
+        assert !stream(list).where({ n -> true }).hasCharacteristics(AbstractStream.INDEXED)
+    }
+
+    void testReverseStrategies() {
+        def pulled = 0
+        def source = { ->
+            def iterator = (0..9).iterator()
+            [hasNext: { iterator.hasNext() }, next: { pulled++; iterator.next() }] as Iterator
+        } as Iterable
+
+        // last() is a single forward pass
+        assert stream(source).last() == 9
+        assert pulled == 10
+        assert stream(source).where({ n -> n % 4 == 0 }).lastOrDefault(-1) == 8
+        assert stream(source).where({ n -> n > 9 }).lastOrDefault(-1) == -1
+        assert stream([null]).lastOrDefault(-1) == null
+        shouldFail(NoSuchElementException.class, { stream(source).skip(10).last() })
+
+        // take/skip over sized sources that cannot be indexed
+        def linked = new LinkedList(0..9)
+        def set = new LinkedHashSet(0..9)
+        [linked, set].each { sized ->
+            assert stream(sized).take(3).reverse().toList() == [2, 1, 0]
+            assert stream(sized).take(30).reverse().toList() == 9..0
+            assert stream(sized).skip(7).reverse().toList() == [9, 8, 7]
+            assert stream(sized).skip(30).reverse().toList() == []
+            assert stream(sized).skip(2).take(3).reverse().toList() == [4, 3, 2]
+            assert stream(sized).skip(2).take(3).last() == 4
+        }
+        assert stream(source).skip(2).take(3).reverse().toList() == [4, 3, 2]
+        assert stream(linked).last() == 9
+        assert stream(linked).reverse().last() == 0
+        assert stream(linked).orderBy({ n -> -n }).last() == 0
+
+        // selectMany reverses the source and every selected sequence
+        def nested = [[1, 2], [], [3, 4, 5]]
+        assert stream(nested).selectMany({ n -> n }).reverse().toList() == [5, 4, 3, 2, 1]
+        assert stream(nested).selectMany({ n -> stream(n).select({ m -> m * 10 }) }).reverse().toList() == [50, 40, 30, 20, 10]
+        assert stream(nested).selectMany({ n -> new LinkedHashSet(n) }).reverse().toList() == [5, 4, 3, 2, 1]
+
+        // deques and navigable sets are walked backwards natively, never buffered
+        def forwardOnly = { values ->
+            new ArrayDeque(values) {
+                Iterator iterator() { throw new AssertionError("buffered") }
+            }
+        }
+        assert stream(nested).selectMany({ n -> forwardOnly(n) }).reverse().toList() == [5, 4, 3, 2, 1]
+        assert stream(nested).selectMany({ n -> new TreeSet(n) }).reverse().toList() == [5, 4, 3, 2, 1]
+
+        assert stream(0..9).groupBy({ n -> n % 3 } as Selector).reverse().select({ g -> g.key }).toList() == [2, 1, 0]
+    }
+
+    void testParallel() {
+        def pool = new java.util.concurrent.ForkJoinPool(4)
+        def integers = new ArrayList(0..9999)
+
+        try {
+            [stream(integers).parallel(), stream(integers).parallel(pool, 100),
+             stream(integers as Integer[]).parallel(pool, 7), stream(new LinkedList(integers)).parallel(pool, 100)].each { parallel ->
+                def query = parallel.where({ n -> n % 3 == 0 }).select({ n -> n * 2 })
+
+                assert query.toList() == integers.findAll { it % 3 == 0 }.collect { it * 2 }
+                assert query.count() == 3334
+                assert query.sum({ n -> n } as SelectorInteger) == integers.findAll { it % 3 == 0 }.sum() * 2
+                assert query.sum({ n -> (long) n } as SelectorLong) == integers.findAll { it % 3 == 0 }.sum() * 2
+                assert query.average({ n -> (double) n } as SelectorDouble) == 9999d
+                assert query.aggregate(0, { acc, n -> acc + 1 }, { a, b -> a + b }) == 3334
+                assert query.min({ n -> n % 1000 } as Selector) == 0
+                assert query.max({ n -> n % 1000 } as Selector) == 1998
+                assert query.maxBy({ n -> n % 1000 } as Selector).key == 998
+                assert query.iterator().next() == 0
+                assert query.first() == 0
+                assert query.last() == 19998
+                assert query.take(3).toList() == [0, 6, 12]
+
+                assert parallel.selectMany({ n -> [n, n] }).count() == 20000
+                assert parallel.select({ n -> n % 10 }).distinct().toList() == 0..9
+                def groups = parallel.groupBy({ n -> n % 4 } as Selector).toList()
+                assert groups*.key == [0, 1, 2, 3]
+                assert groups[1].elements.toList() == integers.findAll { it % 4 == 1 }
+            }
+
+            // empty and filtered-out sources
+            assert stream([]).parallel(pool, 2).toList() == []
+            assert stream(integers).parallel(pool, 100).where({ n -> n < 0 }).count() == 0
+            shouldFail(NoSuchElementException.class, {
+                stream(integers).parallel(pool, 100).where({ n -> n < 0 }).min({ n -> n } as Selector)
+            })
+            shouldFail(IllegalArgumentException.class, { stream(integers).parallel(pool, 0) })
+
+            // stages run on the pool
+            def threads = Collections.synchronizedSet(new HashSet())
+            stream(integers).parallel(pool, 10).where({ n -> threads.add(Thread.currentThread()); true }).count()
+            assert threads.every { it instanceof java.util.concurrent.ForkJoinWorkerThread }
+        } finally {
+            pool.shutdown()
+        }
+    }
+
+    void testParallelOrderBy() {
+        def pool = new java.util.concurrent.ForkJoinPool(4)
+        def random = new Random(7)
+        def strings = (0..4999).collect { "s${random.nextInt(100)}" }
+
+        try {
+            def selected = 0
+            def sorted = stream(strings).orderBy({ s -> selected++; s })
+                    .thenByDescending({ s -> s.length() } as Selector).parallelSort(pool, 64)
+            def expected = strings.withIndex().sort { a, b -> a[0] <=> b[0] ?: b[0].length() <=> a[0].length() ?: a[1] <=> b[1] }.collect { it[0] }
+
+            assert sorted.toList() == expected
+            assert selected == strings.size()
+            assert sorted.iterator().toList() == expected
+            assert sorted.reverse().toList() == expected.reverse()
+            assert sorted.first() == expected.first()
+
+            // ties keep the source order
+            def pairs = (0..999).collect { [it % 10, it] }
+            assert stream(pairs).orderBy({ p -> "${p[0]}" }).parallelSort(pool, 16).toList() ==
+                    pairs.sort(false) { it[0] }
+
+            // integral keys and small inputs take the sequential paths
+            assert stream(0..999).orderByDescending({ n -> n % 7 } as SelectorInteger).parallelSort(pool, 16).toList() ==
+                    (0..999).sort(false) { -(it % 7) }
+            assert stream([3, 1, 2]).orderBy({ n -> n }).parallelSort().toList() == [1, 2, 3]
+
+            // parallelSort returns a new stream; parallel evaluates the sorted stream in parallel
+            def ordered = stream(strings).orderBy({ s -> s })
+            def parallelSorted = ordered.parallelSort(pool, 64)
+            assert !parallelSorted.is(ordered)
+            assert parallelSorted.thenByDescending({ s -> s.length() } as Selector).toList() == strings.sort(false)
+            assert ordered.parallel() instanceof ParallelStream
+            assert ordered.parallel(pool, 64).select({ s -> s.length() }).toList() == strings.sort(false).collect { it.length() }
+
+            // ordering a parallel stream sorts in parallel
+            assert stream(strings).parallel(pool, 64).where({ s -> s.length() > 2 }).orderBy({ s -> s }).toList() ==
+                    strings.findAll { it.length() > 2 }.sort()
+
+            shouldFail(IllegalArgumentException.class, { stream(strings).orderBy({ s -> s }).parallelSort(pool, 0) })
+        } finally {
+            pool.shutdown()
+        }
+    }
+
+    void testJoin() {
+        def people = [[name: "ann", city: 1], [name: "bob", city: 2], [name: "cid", city: 9], [name: "dan", city: null]]
+        def cities = [[id: 2, name: "rome"], [id: 1, name: "oslo"], [id: 2, name: "roma"], [id: null, name: "none"]]
+
+        def joined = stream(people).join(cities, { p -> p.city }, { c -> c.id }, { p, c -> "$p.name-$c.name".toString() })
+        assert joined.toList() == ["ann-oslo", "bob-rome", "bob-roma"]
+        assert joined.iterator().toList() == ["ann-oslo", "bob-rome", "bob-roma"]
+        assert joined.reverse().toList() == ["bob-roma", "bob-rome", "ann-oslo"]
+        assert joined.count() == 3
+        assert joined.first() == "ann-oslo"
+
+        // the inner sequence is read when the join is iterated, not when it is declared
+        def inner = new ArrayList(cities)
+        def deferred = stream(people).join(inner, { p -> p.city }, { c -> c.id }, { p, c -> c.name })
+        inner.add([id: 9, name: "lima"])
+        assert deferred.toList() == ["oslo", "rome", "roma", "lima"]
+        // and read again by every iteration
+        inner.remove(0)
+        assert deferred.toList() == ["oslo", "roma", "lima"]
+
+        // an EqualityComparator matches keys without hashing them
+        def caseInsensitive = { a, b -> a.equalsIgnoreCase(b) } as EqualityComparator
+        assert stream(["A", "b"]).join(["a", "B", "a"], { s -> s }, { s -> s }, { o, i -> o + i }, caseInsensitive).toList() ==
+                ["Aa", "Aa", "bB"]
+
+        assert stream([]).join(cities, { p -> p }, { c -> c.id }, { p, c -> p }).toList() == []
+        assert stream(people).join([], { p -> p.city }, { c -> c }, { p, c -> p }).toList() == []
+    }
+
+    void testGroupJoin() {
+        def people = [[name: "ann", city: 1], [name: "bob", city: 2], [name: "cid", city: 9]]
+        def cities = [[id: 2, name: "rome"], [id: 1, name: "oslo"], [id: 2, name: "roma"]]
+        def keysRead = 0
+
+        def grouped = stream(people).groupJoin(cities, { p -> p.city }, { c -> keysRead++; c.id },
+                { p, matches -> [p.name, matches.select({ c -> c.name }).toList()] })
+        assert grouped.toList() == [["ann", ["oslo"]], ["bob", ["rome", "roma"]], ["cid", []]]
+        assert keysRead == 3
+        assert grouped.reverse().first() == ["cid", []]
+
+        // the size comes from the outer sequence alone
+        keysRead = 0
+        assert grouped.count() == 3
+        assert keysRead == 0
+
+        def caseInsensitive = { a, b -> a.equalsIgnoreCase(b) } as EqualityComparator
+        assert stream(["A", "c"]).groupJoin(["a", "B", "a"], { s -> s }, { s -> s }, { o, m -> m.count() }, caseInsensitive).toList() ==
+                [2, 0]
+    }
+
+    void testMerge() {
+        def odd = stream([1, 3, 5, 7]).asOrderedBy({ i -> i } as Selector)
+        def merged = odd.merge([2, 3, 4]).mergeAll([[0], [], [8, 9]])
+        assert merged.toList() == [0, 1, 2, 3, 3, 4, 5, 7, 8, 9]
+        assert merged.iterator().toList() == [0, 1, 2, 3, 3, 4, 5, 7, 8, 9]
+        assert merged.reverse().toList() == [9, 8, 7, 5, 4, 3, 3, 2, 1, 0]
+        assert merged.count() == 10
+        assert merged.first() == 0
+        assert merged.last() == 9
+
+        // ties keep the elements of earlier sequences first, in both directions
+        def words = stream(["ab", "cd"]).asOrderedBy({ s -> s.length() } as Selector)
+        def byLength = words.merge(["x", "ef", "ghi"])
+        assert byLength.toList() == ["x", "ab", "cd", "ef", "ghi"]
+        assert byLength.reverse().toList() == ["ghi", "ef", "cd", "ab", "x"]
+
+        def descending = stream([9, 4, 1]).asOrderedByDescending({ i -> i } as Selector)
+        assert descending.merge(stream([8, 1, 0]).orderByDescending({ i -> i } as Selector)).toList() == [9, 8, 4, 1, 1, 0]
+
+        // a presorted stream is not sorted again
+        assert stream([3, 1, 2]).asOrderedBy({ i -> i } as Selector).toList() == [3, 1, 2]
+
+        // collections are counted by size and reversed natively
+        def descendingOnly = 0
+        def deque = new ArrayDeque([2, 6]) {
+            Iterator descendingIterator() { descendingOnly++; super.descendingIterator() }
+        }
+        def withCollections = odd.merge(deque).merge(new TreeSet([4, 8]))
+        assert withCollections.reverse().toList() == [8, 7, 6, 5, 4, 3, 2, 1]
+        assert descendingOnly == 1
+        assert withCollections.count() == 8
+    }
+
+    void testMergeJoin() {
+        def people = [[name: "ann", city: 1], [name: "bob", city: 2], [name: "eve", city: 2], [name: "cid", city: 9], [name: "dan", city: null]]
+        def cities = [[id: null, name: "none"], [id: 0, name: "nil"], [id: 2, name: "rome"], [id: 2, name: "roma"], [id: 3, name: "lima"], [id: 9, name: "bern"]]
+
+        def joined = stream(people).asOrderedBy({ p -> p.city } as Selector)
+                .mergeJoin(cities, { p -> p.city }, { c -> c.id }, { p, c -> "$p.name-$c.name".toString() })
+        assert joined.toList() == ["bob-rome", "bob-roma", "eve-rome", "eve-roma", "cid-bern"]
+        assert joined.iterator().toList() == ["bob-rome", "bob-roma", "eve-rome", "eve-roma", "cid-bern"]
+        assert joined.reverse().toList() == ["cid-bern", "eve-roma", "eve-rome", "bob-roma", "bob-rome"]
+        assert joined.count() == 5
+
+        def reversed = { a, b -> b <=> a } as Comparator
+        assert stream(["c", "b", "a"]).asOrderedBy({ s -> s } as Selector, reversed)
+                .mergeJoin(["c", "a", "a"], { s -> s }, { s -> s }, reversed, { o, i -> o + i }).toList() == ["cc", "aa", "aa"]
+
+        assert stream([]).asOrderedBy({ i -> i } as Selector).mergeJoin([1], { i -> i }, { i -> i }, { o, i -> o }).toList() == []
+        assert stream([1]).asOrderedBy({ i -> i } as Selector).mergeJoin([], { i -> i }, { i -> i }, { o, i -> o }).toList() == []
+    }
+
     void testAggregate() {
         def integers = 0..9
         assert integers.sum() ==
@@ -275,6 +1007,102 @@ class StreamTest extends GroovyTestCase {
 
         assert integers ==
                 stream(range).distinct().toList()
+
+        // each iteration starts from an empty set
+        def distinct = stream(range).distinct()
+        assert distinct.toList() == integers
+        assert distinct.iterator().toList() == integers
+        assert distinct.count() == 10
+
+        // a Bloom filter never lets a duplicate through and, sized generously, drops almost nothing
+        def large = (0..<20000).collect { it % 5000 }
+        def approximate = stream(large).distinct(5000, 0.001)
+        def kept = approximate.toList()
+        assert kept.size() == kept.toSet().size()
+        assert kept.size() > 4950
+        assert approximate.toList() == kept
+        assert stream(large).distinctBy({ n -> (long) n % 100 } as SelectorLong, 100, 0.01).count() <= 100
+        assert stream([1, 2, 3] as Set).distinct(1, 0.5).toList() == [1, 2, 3]
+
+        // strings whose hashCode() collide are still told apart: every string made of ten "Aa" or "BB"
+        // blocks has the same hashCode()
+        def colliding = (0..<1024).collect { bits -> (0..<10).collect { (bits >> it & 1) ? "Aa" : "BB" }.join() }
+        assert colliding.collect { it.hashCode() }.unique().size() == 1
+        assert stream(colliding).distinct(2048, 0.01).count() > 1000
+        assert stream(["Aa", "BB", "Aa"]).distinct(10, 0.01).toList() == ["Aa", "BB"]
+        assert stream(colliding).distinctBy({ s -> s.substring(0, 4) } as Selector, 10, 0.01).count() == 4
+
+        shouldFail(IllegalArgumentException) { stream(range).distinct(0, 0.01) }
+        shouldFail(IllegalArgumentException) { stream(range).distinct(10, 1) }
+        shouldFail(IllegalArgumentException) { stream(range).distinctBy({ n -> n } as Selector, 10, 0) }
+    }
+
+    void testSetOperations() {
+        def first = [1, 2, 2, 3, 4, 5]
+        def second = [4, 5, 5, 6, 7]
+
+        // concat is sized, indexed and reversible when both sides are
+        def concat = stream(first).concat(second)
+        assert concat.toList() == first + second
+        assert concat.exactSize() == 11
+        assert concat.elementAt(7) == 5
+        assert concat.reverse().toList() == (first + second).reverse()
+        assert stream(first).where({ n -> n > 3 } as Predicate).concat(second).maxSize() == 11
+
+        // the second sequence is only read once the first one is exhausted
+        def reads = 0
+        def counted = stream(second).select({ n -> reads++; n } as Selector)
+        assert stream(first).concat(counted).take(6).toList() == first
+        assert reads == 0
+
+        assert stream(first).union(second).toList() == [1, 2, 3, 4, 5, 6, 7]
+        assert stream(first).intersect(second).toList() == [4, 5]
+        assert stream(first).except(second).toList() == [1, 2, 3]
+
+        // order and duplicates follow the first sequence
+        assert stream((0..<100).toList()).intersect([50, 3, 3]).toList() == [3, 50]
+        assert stream([50, 3, 3]).intersect((0..<100).toList()).toList() == [50, 3]
+        assert stream([3, 1, 3]).where({ true } as Predicate).except([2]).toList() == [3, 1]
+
+        // the first sequence is read once per iteration, even when it is the smaller side
+        def selected = 0
+        def small = stream([1, 2, 3, 4]).select({ n -> selected++; n * 10 })
+        def large = (0..<1000).collect { it * 10 }
+        assert small.intersect(large).toList() == [10, 20, 30, 40]
+        assert selected == 4
+        assert small.except(large).iterator().toList() == []
+        assert selected == 8
+        assert small.intersect(large, { n -> n.intdiv(20) } as Selector).first() == 10
+        assert selected == 9
+
+        // a Set argument is queried directly
+        def set = new HashSet([4, 5, 6]) {
+            Iterator iterator() { throw new AssertionError("copied") }
+        }
+        assert stream(first).intersect(set).toList() == [4, 5]
+        assert stream(first).except(set).toList() == [1, 2, 3]
+
+        // key selector and comparator variants
+        def words = ["apple", "Avocado", "banana", "cherry"]
+        def other = ["BANANA", "apricot", "date"]
+        def initial = { String s -> s.toLowerCase().charAt(0) } as Selector
+        def ignoreCase = { String a, String b -> a.equalsIgnoreCase(b) } as EqualityComparator
+        assert stream(words).union(other, initial).toList() == ["apple", "banana", "cherry", "date"]
+        assert stream(words).intersect(other, initial).toList() == ["apple", "banana"]
+        assert stream(words).except(other, initial).toList() == ["cherry"]
+        assert stream(words).union(other, ignoreCase).toList() == words + ["apricot", "date"]
+        assert stream(words).intersect(other, ignoreCase).toList() == ["banana"]
+        assert stream(words).except(other, ignoreCase).toList() == ["apple", "Avocado", "cherry"]
+
+        // sizes, nulls and re-iteration
+        def intersection = stream(first).intersect([5, null, 4])
+        assert intersection.maxSize() == 3
+        assert stream(first).except(second).maxSize() == 6
+        assert stream([null, 1, null]).intersect([null]).toList() == [null]
+        assert intersection.toList() == [4, 5]
+        assert intersection.iterator().toList() == [4, 5]
+        assert intersection.reverse().toList() == [5, 4]
+        assert intersection.count() == 2
     }
 
     void testSum() {
@@ -301,6 +1129,19 @@ class StreamTest extends GroovyTestCase {
 
         // sum BigDecimals
         assert sum == stream(list).sum({ int n -> new BigDecimal(n) } as SelectorBigDecimal)
+
+        // sums wrap around like the addition of their type
+        def large = (1..300).toList()
+        assert stream(large).sum({ n -> (byte) 100 } as SelectorByte) == (byte) 30000
+        assert stream(large).sum({ n -> (short) 1000 } as SelectorShort) == (short) 300000
+        assert stream(large).sum({ n -> Integer.MAX_VALUE } as SelectorInteger) == Integer.MAX_VALUE * 300
+        assert stream(large).sum({ n -> Long.MAX_VALUE } as SelectorLong) == Long.MAX_VALUE * 300L
+
+        // parallel chunks are summed in encounter order
+        def parallel = stream(large).parallel(ParallelStream.defaultPool(), 7)
+        assert parallel.sum({ n -> Integer.MAX_VALUE } as SelectorInteger) == Integer.MAX_VALUE * 300
+        assert parallel.sum({ n -> (byte) 100 } as SelectorByte) == (byte) 30000
+        assert parallel.sum({ n -> n / 10d } as SelectorDouble) == stream(large).sum({ n -> n / 10d } as SelectorDouble)
     }
 
     void testAverage() {
@@ -333,6 +1174,37 @@ class StreamTest extends GroovyTestCase {
         // average BigDecimals with MathContext for recurring division
         assert new BigDecimal(0.33, new MathContext(2, RoundingMode.UP)) == stream([0, 0, 1]).average({ int n -> new BigDecimal(n) } as SelectorBigDecimal, new MathContext(2, RoundingMode.UP))
 
+        // integral sums do not overflow their own type, nor long
+        assert 100 == stream([100, 100, 100]).average({ n -> (byte) n } as SelectorByte)
+        assert 30000 == stream([30000, 30000]).average({ n -> (short) n } as SelectorShort)
+        assert Integer.MAX_VALUE == stream([Integer.MAX_VALUE] * 3).average({ n -> (int) n } as SelectorInteger)
+        assert Long.MAX_VALUE - 1 == stream([Long.MAX_VALUE, Long.MAX_VALUE - 2]).average({ n -> (long) n } as SelectorLong)
+        assert Long.MIN_VALUE == stream([Long.MIN_VALUE] * 3).average({ n -> (long) n } as SelectorLong)
+        assert -2 == stream([-3, -2]).average({ n -> (long) n } as SelectorLong)
+        assert Long.MAX_VALUE - 1 == stream([Long.MAX_VALUE, Long.MAX_VALUE - 2]).selectLong({ n -> (long) n } as SelectorLong).average()
+
+        // floating point sums are compensated
+        def small = [1e16d] + [1d] * 1000 + [-1e16d]
+        assert 1000d / 1002 == stream(small).average({ n -> n } as SelectorDouble)
+        assert 1000d / 1002 == stream(small).selectDouble({ n -> n } as SelectorDouble).average()
+        assert 1000d == stream(small).selectDouble({ n -> n } as SelectorDouble).sum()
+        assert Double.POSITIVE_INFINITY == stream([Double.MAX_VALUE, Double.MAX_VALUE]).average({ n -> n } as SelectorDouble)
+
+        // the pipeline runs once
+        def calls = 0
+        assert 4.5 == stream(list).where({ n -> calls++; true } as Predicate).average({ n -> (double) n } as SelectorDouble)
+        assert calls == 10
+
+        // empty sequences
+        assert Double.isNaN(stream([]).average({ n -> n } as SelectorDouble))
+        shouldFail(ArithmeticException) { stream([]).average({ n -> n } as SelectorInteger) }
+
+        // parallel chunks are combined
+        def large = (1..10000).toList()
+        assert 5000 == stream(large).parallel(ParallelStream.defaultPool(), 1000).average({ n -> (int) n } as SelectorInteger)
+        assert 5000.5d == stream(large).parallel(ParallelStream.defaultPool(), 1000).average({ n -> (double) n } as SelectorDouble)
+        assert Long.MAX_VALUE - 1 == stream([Long.MAX_VALUE] * 2000 + [Long.MAX_VALUE - 2] * 2000)
+                .parallel(ParallelStream.defaultPool(), 1000).average({ n -> (long) n } as SelectorLong)
     }
 
     void testMax() {
@@ -383,6 +1255,45 @@ class StreamTest extends GroovyTestCase {
         assert stream(objects).min({ n -> n.id }, { n1, n2 -> n1 - n2 }).id == 123
     }
 
+    void testMinMaxBy() {
+        def objects = [ [id: 322, name: "b"], [id: 420, name: "a"], [id: 3154, name: "c"], [id: 123, name: "a"] ]
+
+        def min = stream(objects).minBy({ n -> n.name })
+        assert min.key == "a"
+        assert min.value.id == 420
+
+        def max = stream(objects).maxBy({ n -> n.id }, { n1, n2 -> n1 - n2 })
+        assert max.key == 3154
+        assert max.value.name == "c"
+
+        // primitive selectors compare keys without compareTo
+        assert stream(objects).minBy({ n -> n.id } as SelectorInteger).key == 123
+        assert stream(objects).maxBy({ n -> (long) n.id } as SelectorLong).key == 3154L
+        assert stream(objects).min({ n -> n.id / 2d } as SelectorDouble).id == 123
+        assert stream(objects).max({ n -> n.id } as SelectorInteger).id == 3154
+
+        // the typed methods reach the primitive comparisons without a cast
+        assert stream(objects).minByInt({ n -> n.id }).value.name == "a"
+        assert stream(objects).maxByInt({ n -> n.id }).key == 3154
+        assert stream(objects).minByLong({ n -> (long) n.id }).key == 123L
+        assert stream(objects).maxByLong({ n -> -(long) n.id }).value.id == 123
+
+        // ties resolve to the first element, as the sort based implementation did
+        def ties = [ [id: 1, key: 5], [id: 2, key: 1], [id: 3, key: 5], [id: 4, key: 1] ]
+        assert stream(ties).min({ n -> n.key }).id == 2
+        assert stream(ties).max({ n -> n.key }).id == 1
+        assert stream(ties).min({ n -> n.key } as SelectorInteger).id == 2
+        assert stream(ties).max({ n -> n.key } as SelectorInteger).id == 1
+
+        // selector runs once per element
+        def calls = 0
+        stream(0..9).max({ n -> calls++; n })
+        assert calls == 10
+
+        shouldFail(NoSuchElementException.class, { stream([]).minBy({ n -> n }) })
+        shouldFail(NoSuchElementException.class, { stream([]).max({ n -> n } as SelectorInteger) })
+    }
+
     @SuppressWarnings("GroovyPointlessBoolean")
     void testAny() {
         def integers = 0..9
@@ -415,6 +1326,44 @@ class StreamTest extends GroovyTestCase {
         assert stream(integers).contains(100, { n1, n2 -> n1 == n2 }) == false
     }
 
+    void testCollectionSources() {
+        // a set answers count, any and contains without being iterated
+        def set = new HashSet([3, 1, 2]) {
+            Iterator iterator() { throw new AssertionError("iterated") }
+        }
+        def fromSet = stream(set)
+        assert fromSet.count() == 3
+        assert fromSet.any()
+        assert fromSet.contains(2)
+        assert !fromSet.contains(4)
+        assert fromSet.distinct().is(fromSet)
+
+        // so do stages that keep the same elements
+        assert fromSet.distinct().contains(1)
+        assert fromSet.reverse().contains(1)
+        assert fromSet.orderBy({ n -> n } as Selector).contains(3)
+        assert fromSet.reverse().count() == 3
+        assert !stream(new HashSet()).any()
+
+        // sorted sets search with their own comparator, and reject nulls without failing
+        def names = new TreeSet(String.CASE_INSENSITIVE_ORDER)
+        names.addAll(["bob", "Alice", "carol"])
+        assert stream(names).contains("ALICE")
+        assert !stream(names).contains(null)
+        assert stream(names).reverse().toList() == ["carol", "bob", "Alice"]
+        assert stream(names).last() == "carol"
+
+        // deques iterate backwards natively; lists keep random access
+        def deque = new ArrayDeque([1, 2, 3])
+        assert stream(deque).reverse().toList() == [3, 2, 1]
+        assert stream(deque).contains(3)
+        assert stream((Iterable) [1, 2, 3]).elementAt(2) == 3
+        assert stream((Iterable) [1, 2, 3]).contains(2)
+
+        // keyed distinct stages filter by key, so they scan
+        assert !stream([1, 2, 3]).distinctBy({ n -> n % 2 } as Selector).contains(3)
+    }
+
     void testCount() {
         assert stream([]).count() == 0
         assert stream(0..9).count() == 10
@@ -542,6 +1491,54 @@ class StreamTest extends GroovyTestCase {
         assert result == range
     }
 
+    void testMapStream() {
+        def map = new TreeMap<Integer, String>()
+        (1..10).each { map[it] = "v" + it }
+
+        // key queries look the map up instead of scanning its entries
+        def lookups = 0
+        def counting = new HashMap<Integer, String>(map) {
+            String get(Object key) { lookups++; super.get(key) }
+        }
+        assert mapStream(counting).whereKey(3).single().value == "v3"
+        assert !mapStream(counting).whereKey(42).any()
+        assert mapStream(counting).whereKeyIn([9, 42, 2] as LinkedHashSet).select({ e -> e.key } as Selector).toList() == [9, 2]
+        assert lookups == 5
+        assert mapStream(counting).keys().contains(7)
+        assert mapStream(counting).values().contains("v7")
+        assert mapStream(counting).keys().count() == 10
+
+        // null values are still found
+        assert mapStream([a: null]).whereKey("a").single().value == null
+
+        // key ranges are views of a navigable map, and reverse through its descending map
+        def range = mapStream(map).whereKeyBetween(3, 6)
+        assert range.select({ e -> e.key } as Selector).toList() == [3, 4, 5, 6]
+        assert range.count() == 4
+        assert range.reverse().select({ e -> e.value } as Selector).toList() == ["v6", "v5", "v4", "v3"]
+        assert mapStream(map).reverse().first().key == 10
+        assert mapStream(map).keys().reverse().toList() == (1..10).reverse()
+        map[5] = "five"
+        assert range.where({ e -> e.key == 5 } as Predicate).single().value == "five"
+
+        // other maps are scanned
+        def hashMap = new HashMap<Integer, String>(map)
+        assert mapStream(hashMap).whereKeyBetween(3, 6).count() == 4
+
+        // an inverted range is empty either way
+        assert !mapStream(map).whereKeyBetween(6, 3).any()
+        assert !mapStream(hashMap).whereKeyBetween(6, 3).any()
+        def descending = new TreeMap<Integer, String>(Collections.reverseOrder())
+        descending.putAll(map)
+        assert mapStream(descending).whereKeyBetween(6, 3).select({ e -> e.key } as Selector).toList() == [6, 5, 4, 3]
+        assert !mapStream(descending).whereKeyBetween(3, 6).any()
+        assert mapStream(hashMap).reverse().select({ e -> e.key } as Selector).toList() ==
+                mapStream(hashMap).select({ e -> e.key } as Selector).toList().reverse()
+        // stream(Map) keeps the signature it was released with
+        assert Linq.getMethod("stream", Map).returnType == Stream
+        assert stream(map).count() == 10
+    }
+
     void testToMap() {
         def map
         def integers = 0..9